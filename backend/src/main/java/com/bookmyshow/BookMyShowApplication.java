@@ -2,11 +2,15 @@ package com.bookmyshow;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+// Outside @Transactional, so catalog evictions happen after the write commits
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 @EnableScheduling
 public class BookMyShowApplication {
     public static void main(String[] args) {
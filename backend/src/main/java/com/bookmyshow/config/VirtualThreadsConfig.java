@@ -0,0 +1,56 @@
+package com.bookmyshow.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Opt-in virtual thread execution ({@code spring.threads.virtual.enabled=true}, Java 21+).
+ *
+ * Servlet requests, {@code @Async} methods and {@code @Scheduled} tasks each run on their
+ * own virtual thread, so requests blocked on row locks or a Hikari connection no longer
+ * use up Tomcat's 200 platform threads. The Hikari pool becomes the real concurrency
+ * limit for database work (see application.properties). Spring Boot 3.2 reads the same
+ * property natively; this configuration covers 3.1.
+ */
+@Configuration
+@Conditional(VirtualThreadsEnabledCondition.class)
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    // Scheduled tasks are short and mostly wait on the database; one thread each avoids head-of-line blocking
+    @Value("${spring.task.scheduling.pool.size:10}")
+    private int schedulingPoolSize;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor() {
+        ThreadFactory threads = VirtualThreads.virtualThreadFactory("http-virtual-");
+        logger.info("Servlet requests, @Async and @Scheduled tasks run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(command -> threads.newThread(command).start());
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setThreadFactory(VirtualThreads.virtualThreadFactory("async-virtual-"));
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulingPoolSize);
+        scheduler.setThreadFactory(VirtualThreads.virtualThreadFactory("scheduling-virtual-"));
+        return scheduler;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bookmyshow.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches when {@code spring.threads.virtual.enabled=true} and the runtime has virtual threads.
+ */
+class VirtualThreadsEnabledCondition implements Condition {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsEnabledCondition.class);
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        boolean enabled = context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (enabled && !VirtualThreads.isSupported()) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+            return false;
+        }
+        return enabled;
+    }
+}
@@ -5,6 +5,8 @@ import com.bookmyshow.dto.LoginRequest;
 import com.bookmyshow.dto.SignupRequest;
 import com.bookmyshow.dto.UserInfoResponse;
 import com.bookmyshow.entity.User;
+import com.bookmyshow.exception.ServiceBusyException;
+import com.bookmyshow.security.TokenPrincipal;
 import com.bookmyshow.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ public class AuthController {
         try {
             AuthResponse response = authService.signup(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            // Answered with 503 and Retry-After by GlobalExceptionHandler
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -35,6 +40,22 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            // Answered with 503 and Retry-After by GlobalExceptionHandler
+            throw e;
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Bearer token is required"));
+        }
+        try {
+            authService.logout(authorization.substring(7));
+            return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -48,6 +69,16 @@ public class AuthController {
                 return ResponseEntity.status(401).body(new ErrorResponse("Unauthorized"));
             }
 
+            // Self-contained tokens already carry the profile
+            if (authentication.getPrincipal() instanceof TokenPrincipal principal) {
+                return ResponseEntity.ok(new UserInfoResponse(
+                        principal.getUserId(),
+                        principal.getName(),
+                        principal.getEmail(),
+                        principal.getMobileNumber()
+                ));
+            }
+
             String email = authentication.getName();
             User user = authService.getUserByEmail(email);
             UserInfoResponse response = new UserInfoResponse(
@@ -1,10 +1,13 @@
 package com.bookmyshow.controller;
 
+import com.bookmyshow.dto.BatchConfirmRequest;
+import com.bookmyshow.dto.BatchConfirmResponse;
 import com.bookmyshow.dto.ConfirmBookingRequest;
 import com.bookmyshow.dto.ConfirmBookingResponse;
 import com.bookmyshow.entity.Booking;
 import com.bookmyshow.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -42,6 +45,15 @@ public class BookingController {
         ConfirmBookingResponse response = bookingService.confirmBooking(request);
         return ResponseEntity.ok(response);
     }
+
+    // Confirm held seats in several shows at once; all bookings are confirmed or none (409)
+    @PostMapping("/batch/confirm")
+    public ResponseEntity<BatchConfirmResponse> confirmBookings(
+            @RequestBody BatchConfirmRequest request) {
+        BatchConfirmResponse response = bookingService.confirmBookings(request);
+        return ResponseEntity.status(response.isConfirmed() ? HttpStatus.OK : HttpStatus.CONFLICT).body(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getBookingById(@PathVariable Long id) {
         return bookingService.getBookingById(id)
@@ -0,0 +1,61 @@
+package com.bookmyshow.controller;
+
+/**
+ * If-None-Match evaluation for handlers that answer 304 before building a body.
+ *
+ * The header is a comma-separated list of entity tags, or {@code *}. Tags are compared
+ * weakly, as RFC 9110 requires for If-None-Match: {@code W/"x"} and {@code "x"} match.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Whether the If-None-Match header value matches {@code eTag}, so a GET can answer 304.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(eTag);
+        int length = ifNoneMatch.length();
+        int i = 0;
+        while (i < length) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (c == '*') {
+                return true;
+            }
+            if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            }
+            if (i >= length || ifNoneMatch.charAt(i) != '"') {
+                // Not an entity tag; skip to the next element
+                int comma = ifNoneMatch.indexOf(',', i);
+                if (comma < 0) {
+                    return false;
+                }
+                i = comma + 1;
+                continue;
+            }
+            // Commas may appear inside a tag, so the tag ends at its closing quote
+            int end = ifNoneMatch.indexOf('"', i + 1);
+            if (end < 0) {
+                return false;
+            }
+            if (end + 1 - i == opaqueTag.length() && ifNoneMatch.startsWith(opaqueTag, i)) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
@@ -2,11 +2,13 @@ package com.bookmyshow.controller;
 
 import com.bookmyshow.entity.Movie;
 import com.bookmyshow.service.MovieService;
+import com.bookmyshow.service.NowShowingIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -15,18 +17,30 @@ public class MovieController {
     @Autowired
     private MovieService movieService;
 
+    @Autowired
+    private NowShowingIndex nowShowingIndex;
+
     @GetMapping
     public ResponseEntity<List<Movie>> getAllMovies(
-            @RequestParam(required = false) String language) {
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String city) {
+        List<Movie> movies;
         if (language != null && !language.isEmpty()) {
             try {
                 Movie.Language lang = Movie.Language.valueOf(language.toUpperCase());
-                return ResponseEntity.ok(movieService.getMoviesByLanguage(lang));
+                movies = movieService.getMoviesByLanguage(lang);
             } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().build();
             }
+        } else {
+            movies = movieService.getAllMovies();
+        }
+        // Only movies with an upcoming show in the city; both lists come from memory
+        if (city != null && !city.isEmpty()) {
+            Set<Long> nowShowing = nowShowingIndex.getMovieIds(city);
+            movies = movies.stream().filter(movie -> nowShowing.contains(movie.getId())).toList();
         }
-        return ResponseEntity.ok(movieService.getAllMovies());
+        return ResponseEntity.ok(movies);
     }
 
     @GetMapping("/{id}")
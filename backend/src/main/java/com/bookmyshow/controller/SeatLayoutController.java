@@ -0,0 +1,43 @@
+package com.bookmyshow.controller;
+
+import com.bookmyshow.dto.SeatLayoutResponse;
+import com.bookmyshow.inventory.SeatInventoryService;
+import com.bookmyshow.inventory.SeatLayout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/seat-layouts")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SeatLayoutController {
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    // Seat layout by the layoutId of a compact seat map. The ID is a digest of the content,
+    // so a response never changes and is cached for good
+    @GetMapping("/{layoutId}")
+    public ResponseEntity<SeatLayoutResponse> getSeatLayout(
+            @PathVariable String layoutId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<SeatLayout> layout = seatInventoryService.findLayout(layoutId);
+        if (layout.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (ETags.matches(ifNoneMatch, layout.get().eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(layout.get().eTag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(layout.get().eTag())
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .body(layout.get().toResponse());
+    }
+}
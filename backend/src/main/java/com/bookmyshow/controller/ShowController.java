@@ -1,15 +1,27 @@
 package com.bookmyshow.controller;
 
 import com.bookmyshow.dto.*;
+import com.bookmyshow.entity.Movie;
 import com.bookmyshow.entity.Show;
+import com.bookmyshow.inventory.SeatLayout;
+import com.bookmyshow.inventory.SeatMapSnapshot;
 import com.bookmyshow.service.SeatHoldService;
 import com.bookmyshow.service.SeatMapService;
+import com.bookmyshow.service.SeatMapStreamService;
 import com.bookmyshow.service.ShowService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/shows")
@@ -25,6 +37,9 @@ public class ShowController {
     @Autowired
     private SeatHoldService seatHoldService;
 
+    @Autowired
+    private SeatMapStreamService seatMapStreamService;
+
     // Get shows by movie ID and city
     @GetMapping
     public ResponseEntity<List<Show>> getShows(
@@ -39,6 +54,21 @@ public class ShowController {
         }
     }
 
+    // Paged show search; only the filters given are applied. Pass nextCursor back as cursor for the next page
+    // upcoming=true limits the results to shows starting from now on the server clock
+    @GetMapping("/search")
+    public ResponseEntity<ShowSearchResponse> searchShows(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Movie.Language language,
+            @RequestParam(required = false) Long movieId,
+            @RequestParam(defaultValue = "false") boolean upcoming,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(showService.searchShows(from, to, city, language, movieId, upcoming, cursor, limit));
+    }
+
     // Get show by ID
     @GetMapping("/{id}")
     public ResponseEntity<Show> getShowById(@PathVariable Long id) {
@@ -48,11 +78,79 @@ public class ShowController {
     }
 
     // Get seat map for a show (optional userId to highlight held seats)
+    // Unchanged maps return 304 when the client sends the previous ETag in If-None-Match
     @GetMapping("/{id}/seats")
     public ResponseEntity<SeatMapResponse> getShowSeats(
+            @PathVariable Long id,
+            @RequestParam(required = false) String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<SeatMapSnapshot> snapshot = seatMapService.getSnapshot(id);
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String eTag = snapshot.get().eTag(userId, now);
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(snapshot.get().toResponse(userId, now));
+    }
+
+    // Compact seat map: 2-bit statuses in layout order, negotiated with the Accept header
+    @GetMapping(value = "/{id}/seats", produces = CompactSeatMapResponse.MEDIA_TYPE)
+    public ResponseEntity<CompactSeatMapResponse> getCompactShowSeats(
+            @PathVariable Long id,
+            @RequestParam(required = false) String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<SeatMapSnapshot> snapshot = seatMapService.getSnapshot(id);
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String eTag = compactETag(snapshot.get().eTag(userId, now));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(snapshot.get().toCompactResponse(userId, now));
+    }
+
+    // Seat layout of the show's compact seat map. A show's layout can change, so this is
+    // revalidated; /api/seat-layouts/{layoutId} serves the same body and never changes
+    @GetMapping("/{id}/seats/layout")
+    public ResponseEntity<SeatLayoutResponse> getShowSeatLayout(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<SeatMapSnapshot> snapshot = seatMapService.getSnapshot(id);
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SeatLayout layout = snapshot.get().getLayout();
+        if (ETags.matches(ifNoneMatch, layout.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(layout.eTag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(layout.eTag())
+                .cacheControl(CacheControl.noCache())
+                .body(layout.toResponse());
+    }
+
+    // Stream seat map changes: one snapshot, then seat status deltas (Server-Sent Events)
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamShowSeats(
             @PathVariable Long id,
             @RequestParam(required = false) String userId) {
-        return seatMapService.getSeatMap(id, userId)
+        return seatMapStreamService.subscribe(id, userId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -65,6 +163,13 @@ public class ShowController {
         return ResponseEntity.ok(seatHoldService.holdSeats(id, request));
     }
 
+    // Hold seats in several shows in one request; results per show
+    @PostMapping("/batch/hold")
+    public ResponseEntity<BatchHoldResponse> holdSeatsBatch(
+            @RequestBody BatchHoldRequest request) {
+        return ResponseEntity.ok(seatHoldService.holdSeatsBatch(request));
+    }
+
     // Release held seats for a show
     @PostMapping("/{id}/seats/release")
     public ResponseEntity<ReleaseSeatsResponse> releaseSeats(
@@ -72,4 +177,9 @@ public class ShowController {
             @RequestBody ReleaseSeatsRequest request) {
         return ResponseEntity.ok(seatHoldService.releaseSeats(id, request));
     }
+
+    // Same seat map version, different representation
+    private static String compactETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-c\"";
+    }
 }
@@ -0,0 +1,70 @@
+package com.bookmyshow.dto;
+
+import java.util.List;
+
+/**
+ * Confirms held seats across several shows in one transaction: either every booking
+ * is confirmed or none is.
+ */
+public class BatchConfirmRequest {
+
+    private String userId;
+    private String email;
+    private String phoneNumber;
+    private String paymentRef;
+    private String paymentMethod;
+    private List<ShowSeatSelection> bookings;
+
+    // No-args constructor
+    public BatchConfirmRequest() {
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getPaymentRef() {
+        return paymentRef;
+    }
+
+    public void setPaymentRef(String paymentRef) {
+        this.paymentRef = paymentRef;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public List<ShowSeatSelection> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<ShowSeatSelection> bookings) {
+        this.bookings = bookings;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookmyshow.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link BatchConfirmRequest}. When {@code confirmed} is false nothing was booked;
+ * the failing show has status FAILED with a message, the others ROLLED_BACK or NOT_ATTEMPTED.
+ */
+public class BatchConfirmResponse {
+
+    private boolean confirmed;
+    private List<Result> results;
+
+    // No-args constructor
+    public BatchConfirmResponse() {
+    }
+
+    // All-args constructor
+    public BatchConfirmResponse(boolean confirmed, List<Result> results) {
+        this.confirmed = confirmed;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public boolean isConfirmed() {
+        return confirmed;
+    }
+
+    public void setConfirmed(boolean confirmed) {
+        this.confirmed = confirmed;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    public static class Result {
+
+        private Long showId;
+        private Long bookingId;
+        private List<Long> seatIds;
+        private String status;
+        private String message;
+
+        // No-args constructor
+        public Result() {
+        }
+
+        // All-args constructor
+        public Result(
+                Long showId,
+                Long bookingId,
+                List<Long> seatIds,
+                String status,
+                String message
+        ) {
+            this.showId = showId;
+            this.bookingId = bookingId;
+            this.seatIds = seatIds;
+            this.status = status;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public Long getShowId() {
+            return showId;
+        }
+
+        public void setShowId(Long showId) {
+            this.showId = showId;
+        }
+
+        public Long getBookingId() {
+            return bookingId;
+        }
+
+        public void setBookingId(Long bookingId) {
+            this.bookingId = bookingId;
+        }
+
+        public List<Long> getSeatIds() {
+            return seatIds;
+        }
+
+        public void setSeatIds(List<Long> seatIds) {
+            this.seatIds = seatIds;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bookmyshow.dto;
+
+import java.util.List;
+
+/**
+ * Holds seats across several shows for one user in a single request.
+ *
+ * Each show is held independently unless {@code allOrNothing} is set, in which case
+ * holds already taken are released again when any show fails.
+ */
+public class BatchHoldRequest {
+
+    private String userId;
+    private Integer holdMinutes;
+    private boolean allOrNothing;
+    private List<ShowSeatSelection> shows;
+
+    // No-args constructor
+    public BatchHoldRequest() {
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Integer getHoldMinutes() {
+        return holdMinutes;
+    }
+
+    public void setHoldMinutes(Integer holdMinutes) {
+        this.holdMinutes = holdMinutes;
+    }
+
+    public boolean isAllOrNothing() {
+        return allOrNothing;
+    }
+
+    public void setAllOrNothing(boolean allOrNothing) {
+        this.allOrNothing = allOrNothing;
+    }
+
+    public List<ShowSeatSelection> getShows() {
+        return shows;
+    }
+
+    public void setShows(List<ShowSeatSelection> shows) {
+        this.shows = shows;
+    }
+}
@@ -0,0 +1,115 @@
+package com.bookmyshow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-show outcome of a {@link BatchHoldRequest}, in the order the shows were processed.
+ */
+public class BatchHoldResponse {
+
+    private List<Result> results;
+
+    // No-args constructor
+    public BatchHoldResponse() {
+    }
+
+    // All-args constructor
+    public BatchHoldResponse(List<Result> results) {
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    /**
+     * status is HELD, CONFLICT (failedSeatIds were taken), REJECTED (see message)
+     * RELEASED (held, then released because another show failed with allOrNothing)
+     * or NOT_ATTEMPTED (after such a failure).
+     */
+    public static class Result {
+
+        private Long showId;
+        private String status;
+        private List<Long> seatIds;
+        private LocalDateTime holdExpiresAt;
+        private List<Long> failedSeatIds;
+        private String message;
+
+        // No-args constructor
+        public Result() {
+        }
+
+        // All-args constructor
+        public Result(
+                Long showId,
+                String status,
+                List<Long> seatIds,
+                LocalDateTime holdExpiresAt,
+                List<Long> failedSeatIds,
+                String message
+        ) {
+            this.showId = showId;
+            this.status = status;
+            this.seatIds = seatIds;
+            this.holdExpiresAt = holdExpiresAt;
+            this.failedSeatIds = failedSeatIds;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public Long getShowId() {
+            return showId;
+        }
+
+        public void setShowId(Long showId) {
+            this.showId = showId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public List<Long> getSeatIds() {
+            return seatIds;
+        }
+
+        public void setSeatIds(List<Long> seatIds) {
+            this.seatIds = seatIds;
+        }
+
+        public LocalDateTime getHoldExpiresAt() {
+            return holdExpiresAt;
+        }
+
+        public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+            this.holdExpiresAt = holdExpiresAt;
+        }
+
+        public List<Long> getFailedSeatIds() {
+            return failedSeatIds;
+        }
+
+        public void setFailedSeatIds(List<Long> failedSeatIds) {
+            this.failedSeatIds = failedSeatIds;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
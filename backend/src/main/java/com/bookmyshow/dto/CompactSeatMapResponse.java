@@ -0,0 +1,111 @@
+package com.bookmyshow.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seat map as a packed status array, served for {@code Accept: application/vnd.bookmyshow.seatmap-compact+json}.
+ *
+ * {@code statuses} is Base64 of 2 bits per seat, in the position order of the layout named
+ * by {@code layoutId} (GET /api/seat-layouts/{layoutId}). Seat i is in byte i / 4 at bit
+ * offset (i % 4) * 2: 0 = AVAILABLE, 1 = HELD, 2 = BOOKED, 3 = HELD by the requesting user.
+ */
+public class CompactSeatMapResponse {
+
+    public static final String MEDIA_TYPE = "application/vnd.bookmyshow.seatmap-compact+json";
+
+    public static final int AVAILABLE = 0;
+    public static final int HELD = 1;
+    public static final int BOOKED = 2;
+    public static final int HELD_BY_CURRENT_USER = 3;
+
+    private Long showId;
+    private long version;
+    private String layoutId;
+    private int seatCount;
+    private String statuses;
+    private LocalDateTime holdExpiresAt;
+    private LocalDateTime serverTime;
+
+    // No-args constructor
+    public CompactSeatMapResponse() {
+    }
+
+    // All-args constructor
+    public CompactSeatMapResponse(
+            Long showId,
+            long version,
+            String layoutId,
+            int seatCount,
+            String statuses,
+            LocalDateTime holdExpiresAt,
+            LocalDateTime serverTime
+    ) {
+        this.showId = showId;
+        this.version = version;
+        this.layoutId = layoutId;
+        this.seatCount = seatCount;
+        this.statuses = statuses;
+        this.holdExpiresAt = holdExpiresAt;
+        this.serverTime = serverTime;
+    }
+
+    // Getters and Setters
+    public Long getShowId() {
+        return showId;
+    }
+
+    public void setShowId(Long showId) {
+        this.showId = showId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(String layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public void setSeatCount(int seatCount) {
+        this.seatCount = seatCount;
+    }
+
+    public String getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(String statuses) {
+        this.statuses = statuses;
+    }
+
+    /**
+     * Earliest expiry among the requesting user's held seats, or null if they hold none
+     */
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public LocalDateTime getServerTime() {
+        return serverTime;
+    }
+
+    public void setServerTime(LocalDateTime serverTime) {
+        this.serverTime = serverTime;
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookmyshow.dto;
+
+import java.util.List;
+
+/**
+ * Columnar seat layout: element i of each array describes the seat at position i.
+ * Row and seat type are indexes into {@code rows} and {@code seatTypes}.
+ */
+public class SeatLayoutResponse {
+
+    private String layoutId;
+    private List<String> rows;
+    private List<String> seatTypes;
+    private long[] seatIds;
+    private int[] rowIndexes;
+    private int[] seatNumbers;
+    private int[] seatTypeIndexes;
+
+    // No-args constructor
+    public SeatLayoutResponse() {
+    }
+
+    // All-args constructor
+    public SeatLayoutResponse(
+            String layoutId,
+            List<String> rows,
+            List<String> seatTypes,
+            long[] seatIds,
+            int[] rowIndexes,
+            int[] seatNumbers,
+            int[] seatTypeIndexes
+    ) {
+        this.layoutId = layoutId;
+        this.rows = rows;
+        this.seatTypes = seatTypes;
+        this.seatIds = seatIds;
+        this.rowIndexes = rowIndexes;
+        this.seatNumbers = seatNumbers;
+        this.seatTypeIndexes = seatTypeIndexes;
+    }
+
+    // Getters and Setters
+    public String getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(String layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public List<String> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<String> rows) {
+        this.rows = rows;
+    }
+
+    public List<String> getSeatTypes() {
+        return seatTypes;
+    }
+
+    public void setSeatTypes(List<String> seatTypes) {
+        this.seatTypes = seatTypes;
+    }
+
+    public long[] getSeatIds() {
+        return seatIds;
+    }
+
+    public void setSeatIds(long[] seatIds) {
+        this.seatIds = seatIds;
+    }
+
+    public int[] getRowIndexes() {
+        return rowIndexes;
+    }
+
+    public void setRowIndexes(int[] rowIndexes) {
+        this.rowIndexes = rowIndexes;
+    }
+
+    public int[] getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(int[] seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public int[] getSeatTypeIndexes() {
+        return seatTypeIndexes;
+    }
+
+    public void setSeatTypeIndexes(int[] seatTypeIndexes) {
+        this.seatTypeIndexes = seatTypeIndexes;
+    }
+}
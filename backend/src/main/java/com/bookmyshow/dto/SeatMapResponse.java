@@ -11,6 +11,7 @@ public class SeatMapResponse {
     private List<String> seatTypes;
     private List<SeatStatusResponse> seats;
     private LocalDateTime serverTime;
+    private long version;
 
     // No-args constructor
     public SeatMapResponse() {
@@ -82,6 +83,15 @@ public class SeatMapResponse {
         this.serverTime = serverTime;
     }
 
+    // Inventory version the seat statuses reflect (matches SeatStatusDelta.version)
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public static class TheatreInfo {
         private Long id;
         private String name;
@@ -0,0 +1,96 @@
+package com.bookmyshow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A change to the status of one or more seats of a show, pushed to seat map subscribers.
+ *
+ * Also published as an application event by the services that change seat state.
+ */
+public class SeatStatusDelta {
+
+    public enum Type {
+        HELD,
+        RELEASED,
+        BOOKED,
+        EXPIRED
+    }
+
+    private Long showId;
+    private long version;
+    private Type type;
+    private String status;
+    private List<Long> seatIds;
+    private LocalDateTime holdExpiresAt;
+
+    // No-args constructor
+    public SeatStatusDelta() {
+    }
+
+    // All-args constructor
+    public SeatStatusDelta(
+            Long showId,
+            long version,
+            Type type,
+            String status,
+            List<Long> seatIds,
+            LocalDateTime holdExpiresAt
+    ) {
+        this.showId = showId;
+        this.version = version;
+        this.type = type;
+        this.status = status;
+        this.seatIds = seatIds;
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    // Getters and Setters
+    public Long getShowId() {
+        return showId;
+    }
+
+    public void setShowId(Long showId) {
+        this.showId = showId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Long> getSeatIds() {
+        return seatIds;
+    }
+
+    public void setSeatIds(List<Long> seatIds) {
+        this.seatIds = seatIds;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+}
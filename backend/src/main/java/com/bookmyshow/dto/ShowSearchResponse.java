@@ -0,0 +1,40 @@
+package com.bookmyshow.dto;
+
+import java.util.List;
+
+/**
+ * A page of shows ordered by show time. Pass {@code nextCursor} back as {@code cursor}
+ * to get the following page; it is {@code null} on the last page.
+ */
+public class ShowSearchResponse {
+
+    private List<ShowSummaryResponse> shows;
+    private String nextCursor;
+
+    // No-args constructor
+    public ShowSearchResponse() {
+    }
+
+    // All-args constructor
+    public ShowSearchResponse(List<ShowSummaryResponse> shows, String nextCursor) {
+        this.shows = shows;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ShowSummaryResponse> getShows() {
+        return shows;
+    }
+
+    public void setShows(List<ShowSummaryResponse> shows) {
+        this.shows = shows;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookmyshow.dto;
+
+import java.util.List;
+
+/**
+ * Seats of one show within a batch request.
+ */
+public class ShowSeatSelection {
+
+    private Long showId;
+    private List<Long> seatIds;
+
+    // No-args constructor
+    public ShowSeatSelection() {
+    }
+
+    // All-args constructor
+    public ShowSeatSelection(Long showId, List<Long> seatIds) {
+        this.showId = showId;
+        this.seatIds = seatIds;
+    }
+
+    // Getters and Setters
+    public Long getShowId() {
+        return showId;
+    }
+
+    public void setShowId(Long showId) {
+        this.showId = showId;
+    }
+
+    public List<Long> getSeatIds() {
+        return seatIds;
+    }
+
+    public void setSeatIds(List<Long> seatIds) {
+        this.seatIds = seatIds;
+    }
+}
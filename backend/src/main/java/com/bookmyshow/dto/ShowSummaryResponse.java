@@ -0,0 +1,121 @@
+package com.bookmyshow.dto;
+
+import com.bookmyshow.entity.Movie;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a show search, projected straight from the query so no entities are loaded.
+ */
+public class ShowSummaryResponse {
+
+    private Long id;
+    private LocalDateTime showTime;
+    private Integer availableSeats;
+    private Long movieId;
+    private String movieName;
+    private Movie.Language language;
+    private Long theatreId;
+    private String theatreName;
+    private String city;
+
+    // No-args constructor
+    public ShowSummaryResponse() {
+    }
+
+    // All-args constructor (used by the JPQL constructor expression in ShowSearchRepository)
+    public ShowSummaryResponse(
+            Long id,
+            LocalDateTime showTime,
+            Integer availableSeats,
+            Long movieId,
+            String movieName,
+            Movie.Language language,
+            Long theatreId,
+            String theatreName,
+            String city
+    ) {
+        this.id = id;
+        this.showTime = showTime;
+        this.availableSeats = availableSeats;
+        this.movieId = movieId;
+        this.movieName = movieName;
+        this.language = language;
+        this.theatreId = theatreId;
+        this.theatreName = theatreName;
+        this.city = city;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getShowTime() {
+        return showTime;
+    }
+
+    public void setShowTime(LocalDateTime showTime) {
+        this.showTime = showTime;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public String getMovieName() {
+        return movieName;
+    }
+
+    public void setMovieName(String movieName) {
+        this.movieName = movieName;
+    }
+
+    public Movie.Language getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(Movie.Language language) {
+        this.language = language;
+    }
+
+    public Long getTheatreId() {
+        return theatreId;
+    }
+
+    public void setTheatreId(Long theatreId) {
+        this.theatreId = theatreId;
+    }
+
+    public String getTheatreName() {
+        return theatreName;
+    }
+
+    public void setTheatreName(String theatreName) {
+        this.theatreName = theatreName;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookmyshow.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * When to place the reminder call for a confirmed booking. Written when the booking
+ * is confirmed and polled by (status, remind_at), so only reminders that are due get read.
+ *
+ * A reminder is claimed by moving it from PENDING to CALLING before the call is placed,
+ * so a reminder is called at most once across restarts and instances.
+ */
+@Entity
+@Table(
+        name = "booking_reminders",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_booking_reminders_booking", columnNames = {"booking_id"})
+        },
+        indexes = {
+                @Index(name = "idx_booking_reminders_due", columnList = "status, remind_at")
+        }
+)
+public class BookingReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Booking is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private Booking booking;
+
+    @NotNull(message = "Remind at is required")
+    @Column(name = "remind_at", nullable = false)
+    private LocalDateTime remindAt;
+
+    @NotNull(message = "Show time is required")
+    @Column(name = "show_time", nullable = false)
+    private LocalDateTime showTime;
+
+    @NotNull(message = "Status is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingReminderStatus status = BookingReminderStatus.PENDING;
+
+    @Column(name = "call_sid", length = 64)
+    private String callSid;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public BookingReminder() {
+    }
+
+    public BookingReminder(Booking booking, LocalDateTime remindAt) {
+        this.booking = booking;
+        this.remindAt = remindAt;
+        this.showTime = booking.getShow().getShowTime();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    public LocalDateTime getRemindAt() {
+        return remindAt;
+    }
+
+    public void setRemindAt(LocalDateTime remindAt) {
+        this.remindAt = remindAt;
+    }
+
+    public LocalDateTime getShowTime() {
+        return showTime;
+    }
+
+    public void setShowTime(LocalDateTime showTime) {
+        this.showTime = showTime;
+    }
+
+    public BookingReminderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingReminderStatus status) {
+        this.status = status;
+    }
+
+    public String getCallSid() {
+        return callSid;
+    }
+
+    public void setCallSid(String callSid) {
+        this.callSid = callSid;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookmyshow.entity;
+
+public enum BookingReminderStatus {
+    PENDING,
+    // Claimed by an instance that is placing the call
+    CALLING,
+    SENT,
+    SKIPPED,
+    FAILED
+}
@@ -6,7 +6,12 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 @Entity
-@Table(name = "movies")
+@Table(
+        name = "movies",
+        indexes = {
+                @Index(name = "idx_movies_language", columnList = "language")
+        }
+)
 public class Movie {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,7 @@
+package com.bookmyshow.entity;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
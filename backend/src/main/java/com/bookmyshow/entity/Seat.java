@@ -1,11 +1,13 @@
 package com.bookmyshow.entity;
 
+import com.bookmyshow.inventory.SeatLayoutInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 @Entity
+@EntityListeners(SeatLayoutInvalidationListener.class)
 @Table(
     name = "seats",
     uniqueConstraints = {
@@ -7,7 +7,15 @@ import jakarta.validation.constraints.Positive;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "shows")
+@Table(
+        name = "shows",
+        indexes = {
+                // Keyset order of the show search, alone and after the movie or theatre filters
+                @Index(name = "idx_shows_time", columnList = "showTime, id"),
+                @Index(name = "idx_shows_movie_time", columnList = "movie_id, showTime, id"),
+                @Index(name = "idx_shows_theatre_time", columnList = "theatre_id, showTime, id")
+        }
+)
 public class Show {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -47,6 +47,11 @@ public class ShowSeat {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Bumped by every write, including the JDBC batch writes in ShowSeatBatchRepository
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     // JPA lifecycle callbacks
     @PrePersist
     @PreUpdate
@@ -112,4 +117,8 @@ public class ShowSeat {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
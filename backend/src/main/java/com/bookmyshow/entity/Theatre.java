@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "theatres")
+@Table(
+        name = "theatres",
+        indexes = {
+                @Index(name = "idx_theatres_city", columnList = "city")
+        }
+)
 public class Theatre {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,19 @@
+package com.bookmyshow.exception;
+
+/**
+ * The request was turned away because a bounded resource is saturated; answered with
+ * 503 and a Retry-After header so clients back off instead of queueing.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
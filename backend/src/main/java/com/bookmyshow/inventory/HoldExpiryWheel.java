@@ -0,0 +1,88 @@
+package com.bookmyshow.inventory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel for hold expiries.
+ *
+ * Each hold is placed in the bucket for the tick it expires on. Advancing the wheel
+ * only visits the buckets of elapsed ticks, so the cost of expiry scales with the
+ * number of holds expiring, not with the number of seats. Holds further away than
+ * one rotation stay in their bucket until their tick comes round.
+ */
+class HoldExpiryWheel {
+
+    private final long tickMillis;
+    private final List<Entry>[] buckets;
+    private final int mask;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HoldExpiryWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an entry; deadlines already passed fire on the next tick.
+     */
+    synchronized void schedule(Entry entry, long deadlineMillis) {
+        long tick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        if (tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+        entry.tick = tick;
+        buckets[(int) (tick & mask)].add(entry);
+    }
+
+    /**
+     * Advance to {@code nowMillis} and remove every entry whose tick has elapsed.
+     */
+    synchronized List<Entry> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Entry> due = new ArrayList<>();
+        if (targetTick <= currentTick) {
+            return due;
+        }
+        // After a long pause every bucket is visited once instead of once per missed tick
+        long ticks = Math.min(targetTick - currentTick, buckets.length);
+        for (long t = targetTick - ticks + 1; t <= targetTick; t++) {
+            Iterator<Entry> it = buckets[(int) (t & mask)].iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.tick <= targetTick) {
+                    due.add(entry);
+                    it.remove();
+                }
+            }
+        }
+        currentTick = targetTick;
+        return due;
+    }
+
+    /**
+     * Seats that were held together, with the exact slots the hold installed.
+     */
+    static class Entry {
+        final ShowSeatInventory inventory;
+        final int[] positions;
+        final SeatSlot[] heldSlots;
+        long tick;
+
+        Entry(ShowSeatInventory inventory, int[] positions, SeatSlot[] heldSlots) {
+            this.inventory = inventory;
+            this.positions = positions;
+            this.heldSlots = heldSlots;
+        }
+    }
+}
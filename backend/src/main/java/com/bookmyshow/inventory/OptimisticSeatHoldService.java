@@ -0,0 +1,112 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seat holds arbitrated by the database with optimistic concurrency
+ * ({@link SeatHoldMode#OPTIMISTIC}).
+ *
+ * Each seat is changed with a conditional UPDATE that only matches the row as it was
+ * read (by version) or as the caller expects it (held by the user). Nothing is locked,
+ * so a request for a seat someone else holds fails immediately instead of waiting.
+ * Once the database has accepted the change, the in-memory inventory mirrors it so
+ * seat maps and streams stay current on this instance.
+ */
+@Service
+public class OptimisticSeatHoldService {
+
+    @Autowired
+    private ShowSeatBatchRepository showSeatBatchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public SeatTransition hold(ShowSeatInventory inventory, int[] positions, String userId,
+                               LocalDateTime holdExpiresAt, LocalDateTime now) {
+        long[] showSeatIds = showSeatIdsOf(inventory, positions);
+        Long[] versions = showSeatBatchRepository.findVersions(showSeatIds);
+        List<Long> unknown = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            if (versions[i] == null) {
+                unknown.add(inventory.seatIdAt(positions[i]));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            return new SeatTransition(positions, unknown);
+        }
+
+        // All seats or none: roll back if any conditional update missed
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        List<Long> failed = template.execute(status -> {
+            List<Long> missed = missed(inventory, positions,
+                    showSeatBatchRepository.holdIfUnchanged(showSeatIds, versions, userId, holdExpiresAt, now));
+            if (!missed.isEmpty()) {
+                status.setRollbackOnly();
+            }
+            return missed;
+        });
+        if (!failed.isEmpty()) {
+            return new SeatTransition(positions, failed);
+        }
+        return inventory.overwrite(positions, SeatSlot.held(userId, holdExpiresAt));
+    }
+
+    public SeatTransition release(ShowSeatInventory inventory, int[] positions, String userId, LocalDateTime now) {
+        long[] showSeatIds = showSeatIdsOf(inventory, positions);
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        List<Long> failed = template.execute(status -> {
+            List<Long> missed = missed(inventory, positions,
+                    showSeatBatchRepository.releaseIfHeldBy(showSeatIds, userId, now));
+            if (!missed.isEmpty()) {
+                status.setRollbackOnly();
+            }
+            return missed;
+        });
+        if (!failed.isEmpty()) {
+            return new SeatTransition(positions, failed);
+        }
+        return inventory.overwrite(positions, SeatSlot.available());
+    }
+
+    /**
+     * Book seats held by the user, in the caller's transaction. The caller must roll back
+     * when the transition is not applied, and revert the inventory if it rolls back later.
+     */
+    public SeatTransition book(ShowSeatInventory inventory, int[] positions, String userId, LocalDateTime now) {
+        List<Long> failed = missed(inventory, positions,
+                showSeatBatchRepository.bookIfHeldBy(showSeatIdsOf(inventory, positions), userId, now));
+        if (!failed.isEmpty()) {
+            return new SeatTransition(positions, failed);
+        }
+        return inventory.overwrite(positions, SeatSlot.booked());
+    }
+
+    private static long[] showSeatIdsOf(ShowSeatInventory inventory, int[] positions) {
+        long[] ids = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            ids[i] = inventory.showSeatIdAt(positions[i]);
+        }
+        return ids;
+    }
+
+    // Seats whose conditional update did not change exactly one row; anything else,
+    // including a driver's "unknown" count, is not proof the seat was taken
+    private static List<Long> missed(ShowSeatInventory inventory, int[] positions, int[] counts) {
+        List<Long> missed = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            if (counts[i] != 1) {
+                missed.add(inventory.seatIdAt(positions[i]));
+            }
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookmyshow.inventory;
+
+/**
+ * How seat holds, releases and bookings are arbitrated ({@code seat.hold.mode}).
+ */
+public enum SeatHoldMode {
+
+    /**
+     * Compare-and-set on the in-memory {@link ShowSeatInventory}; the database is written
+     * behind. Fastest, but the inventory is authoritative for a single instance only.
+     */
+    INVENTORY,
+
+    /**
+     * Conditional {@code UPDATE ... WHERE version = ?} on {@code show_seats}; the database
+     * decides and the inventory mirrors the outcome. Safe with several instances: the
+     * inventory is never written behind, and a lapsed hold is taken over by the next
+     * conditional hold ({@code hold_expires_at <= now}) rather than reset by an expiry job.
+     */
+    OPTIMISTIC
+}
@@ -0,0 +1,357 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.entity.ShowSeatStatus;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.repository.ShowRepository;
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import com.bookmyshow.repository.ShowSeatBatchRepository.SeatStateRow;
+import com.bookmyshow.repository.ShowSeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Owns the per-show {@link ShowSeatInventory} instances.
+ *
+ * Holds and releases are arbitrated in memory and written to {@code show_seats}
+ * in batches (write-behind), so the database only sees requests that won their seats.
+ * Holds are expired by a timing wheel about a second after they lapse.
+ * Inventories are loaded on first use from {@code show_seats}, provisioning
+ * the show's seats first if the show has none yet. Loading happens outside the inventory
+ * map, so a slow load only makes callers for the same show wait. Seat labels and order come from the
+ * theatre's cached {@link SeatLayout}, so loading a show reads only its seat states.
+ *
+ * Once a show has started and all its changes are written, its inventory is evicted
+ * together with its gauges, so memory and metric series only cover current shows.
+ *
+ * The in-memory state is authoritative for this instance only; the unique
+ * constraint on booking_seats remains the final guard against double booking.
+ * With {@code seat.hold.mode=optimistic} the database arbitrates instead
+ * (see {@link OptimisticSeatHoldService}) and the inventory only mirrors it.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private ShowSeatRepository showSeatRepository;
+
+    @Autowired
+    private ShowSeatBatchRepository showSeatBatchRepository;
+
+    @Autowired
+    private ShowSeatProvisioningService showSeatProvisioningService;
+
+    @Autowired
+    private SeatLayoutCache seatLayoutCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${seat.hold.mode:inventory}")
+    private SeatHoldMode holdMode;
+
+    private final Map<Long, ShowSeatInventory> inventories = new ConcurrentHashMap<>();
+    // Loads in progress; the first caller for a show loads it, later callers wait for its result
+    private final Map<Long, CompletableFuture<ShowSeatInventory>> loading = new ConcurrentHashMap<>();
+
+    // Failed flushes are retried with exponential backoff, up to this interval
+    private static final long MAX_FLUSH_BACKOFF_MILLIS = 10_000;
+
+    // Flushes and evictions run under this lock, so an inventory is never evicted while its
+    // drained positions are being written (and might be marked dirty again)
+    private final Object flushLock = new Object();
+    private int consecutiveFlushFailures;
+    private long nextFlushAttemptMillis;
+
+    // One-second ticks; 1024 buckets cover the longest hold in a single rotation
+    private final HoldExpiryWheel holdExpiryWheel = new HoldExpiryWheel(1000, 1024, System.currentTimeMillis());
+
+    public ShowSeatInventory getInventory(Show show) {
+        ShowSeatInventory inventory = inventories.get(show.getId());
+        if (inventory != null) {
+            return inventory;
+        }
+
+        // Not computeIfAbsent: the load runs its own transaction, and must neither block
+        // other shows in the same map bin nor run while holding the map's lock
+        CompletableFuture<ShowSeatInventory> created = new CompletableFuture<>();
+        CompletableFuture<ShowSeatInventory> pending = loading.putIfAbsent(show.getId(), created);
+        if (pending != null) {
+            return awaitLoad(pending);
+        }
+        try {
+            // Another caller may have finished loading between the two lookups
+            inventory = inventories.get(show.getId());
+            if (inventory == null) {
+                inventory = load(show);
+                inventories.put(show.getId(), inventory);
+            }
+            created.complete(inventory);
+            return inventory;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(show.getId(), created);
+        }
+    }
+
+    /**
+     * The show's inventory, looking the show up only when the inventory is not loaded yet.
+     *
+     * @return empty if there is no such show
+     */
+    public Optional<ShowSeatInventory> findInventory(Long showId) {
+        ShowSeatInventory inventory = inventories.get(showId);
+        if (inventory != null) {
+            return Optional.of(inventory);
+        }
+        return showRepository.findById(showId).map(this::getInventory);
+    }
+
+    private static ShowSeatInventory awaitLoad(CompletableFuture<ShowSeatInventory> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public SeatHoldMode getHoldMode() {
+        return holdMode;
+    }
+
+    /**
+     * @return the inventory if it is already loaded, without touching the database
+     */
+    public Optional<ShowSeatInventory> findLoaded(Long showId) {
+        return Optional.ofNullable(inventories.get(showId));
+    }
+
+    /**
+     * A seat layout by ID. Layouts replaced since a show was loaded stay reachable while
+     * the show's inventory still uses them, so every layoutId handed out can be resolved.
+     */
+    public Optional<SeatLayout> findLayout(String layoutId) {
+        return seatLayoutCache.findLayout(layoutId).or(() -> inventories.values().stream()
+                .map(ShowSeatInventory::getLayout)
+                .filter(layout -> layout.getLayoutId().equals(layoutId))
+                .findFirst());
+    }
+
+    public Collection<ShowSeatInventory> getLoadedInventories() {
+        return inventories.values();
+    }
+
+    /**
+     * Expire the seats of an applied hold about a second after {@code holdExpiresAt}.
+     */
+    public void scheduleExpiry(ShowSeatInventory inventory, SeatTransition hold, LocalDateTime holdExpiresAt) {
+        if (!hold.isApplied() || hold.size() == 0) {
+            return;
+        }
+        holdExpiryWheel.schedule(new HoldExpiryWheel.Entry(inventory, hold.getPositions(), hold.getApplied()),
+                toEpochMillis(holdExpiresAt));
+    }
+
+    /**
+     * Expire the holds due by {@code now}. Only the affected positions are marked dirty,
+     * so the write-behind updates exactly those rows by primary key.
+     *
+     * @param onExpired called for every hold that had seats expired
+     */
+    public void expireDueHolds(LocalDateTime now, BiConsumer<ShowSeatInventory, SeatTransition> onExpired) {
+        for (HoldExpiryWheel.Entry entry : holdExpiryWheel.advance(toEpochMillis(now))) {
+            SeatTransition expired = entry.inventory.expire(entry.positions, entry.heldSlots, now);
+            if (expired.size() > 0) {
+                onExpired.accept(entry.inventory, expired);
+            }
+        }
+    }
+
+    /**
+     * Revert the transition if the current transaction does not commit.
+     */
+    public void revertOnRollback(ShowSeatInventory inventory, SeatTransition transition) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    inventory.revert(transition);
+                    // Restored holds may have missed their expiry while the change was pending
+                    scheduleHeldPositions(inventory, transition.getPositions());
+                }
+            }
+        });
+    }
+
+    // Write-behind: persist holds and releases made since the last flush
+    @Scheduled(fixedDelayString = "${inventory.write-behind.flush-interval-ms:200}")
+    public void flushPendingChanges() {
+        bookingMetrics.timeScheduledTask("write-behind-flush", this::flush);
+    }
+
+    private void flush() {
+        synchronized (flushLock) {
+            flushDirty();
+        }
+    }
+
+    private void flushDirty() {
+        long nowMillis = System.currentTimeMillis();
+        if (nowMillis < nextFlushAttemptMillis) {
+            return;
+        }
+
+        List<SeatStateRow> rows = new ArrayList<>();
+        Map<ShowSeatInventory, List<Integer>> drained = new HashMap<>();
+        for (ShowSeatInventory inventory : inventories.values()) {
+            List<Integer> dirty = inventory.drainDirty();
+            // Optimistic mode writes every change with a conditional UPDATE already. Writing
+            // local expiries or reverts here could overwrite a hold another instance made since.
+            if (holdMode == SeatHoldMode.OPTIMISTIC || dirty.isEmpty()) {
+                continue;
+            }
+            drained.put(inventory, dirty);
+            for (int position : dirty) {
+                SeatSlot slot = inventory.slotAt(position);
+                // BOOKED is written only by the booking's own transaction, which may still roll back
+                if (slot.getStatus() == ShowSeatStatus.BOOKED) {
+                    continue;
+                }
+                rows.add(new SeatStateRow(
+                        inventory.showSeatIdAt(position),
+                        slot.getStatus(),
+                        slot.getHeldByUserId(),
+                        slot.getHoldExpiresAt()
+                ));
+            }
+        }
+        if (rows.isEmpty()) return;
+
+        try {
+            showSeatBatchRepository.updateStates(rows);
+            logger.debug("Flushed {} seat state change(s) to show_seats", rows.size());
+            if (consecutiveFlushFailures > 0) {
+                logger.info("Seat state flush recovered after {} failed attempt(s)", consecutiveFlushFailures);
+            }
+            consecutiveFlushFailures = 0;
+        } catch (Exception e) {
+            // Retried from the current slots, so changes made meanwhile are written too
+            drained.forEach(ShowSeatInventory::markDirty);
+            consecutiveFlushFailures++;
+            long backoffMillis = Math.min(MAX_FLUSH_BACKOFF_MILLIS, 200L << Math.min(consecutiveFlushFailures - 1, 10));
+            nextFlushAttemptMillis = nowMillis + backoffMillis;
+            bookingMetrics.recordWriteBehindFailure(rows.size());
+            logger.error("Failed to flush {} seat state change(s) (attempt {}), retrying in {} ms: {}",
+                    rows.size(), consecutiveFlushFailures, backoffMillis, e.getMessage(), e);
+        }
+    }
+
+    // Started shows take no more bookings; checked every minute
+    @Scheduled(fixedDelayString = "${inventory.eviction-interval-ms:60000}")
+    public void evictStartedShows() {
+        bookingMetrics.timeScheduledTask("inventory-eviction", () -> evictStarted(LocalDateTime.now()));
+    }
+
+    void evictStarted(LocalDateTime now) {
+        synchronized (flushLock) {
+            for (ShowSeatInventory inventory : inventories.values()) {
+                LocalDateTime showTime = inventory.getShowTime();
+                if (showTime == null || showTime.isAfter(now) || inventory.hasDirtyPositions()) {
+                    continue;
+                }
+                if (!inventories.remove(inventory.getShowId(), inventory)) {
+                    continue;
+                }
+                // Changed between the check and the removal: keep it until the next flush
+                if (inventory.hasDirtyPositions()) {
+                    inventories.putIfAbsent(inventory.getShowId(), inventory);
+                    continue;
+                }
+                inventory.markEvicted();
+                bookingMetrics.unregisterInventory(inventory);
+                logger.info("Evicted seat inventory for started show {}", inventory.getShowId());
+            }
+        }
+    }
+
+    // Loaded in its own transaction so that created show seats survive a rollback of the caller
+    private ShowSeatInventory load(Show show) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> {
+            // Shows created through ShowService are provisioned already; this covers seeded shows
+            if (!showSeatRepository.existsByShowId(show.getId())) {
+                showSeatProvisioningService.provision(show);
+            }
+            SeatLayout layout = seatLayoutCache.getLayout(show.getTheatre().getId());
+            List<ShowSeat> showSeats = showSeatRepository.findByShowId(show.getId());
+            // Seats added to the theatre after the show was provisioned
+            if (showSeats.size() < layout.size()) {
+                showSeatProvisioningService.provision(show);
+                showSeats = showSeatRepository.findByShowId(show.getId());
+            }
+            logger.info("Loaded seat inventory for show {} ({} seats)", show.getId(), layout.size());
+            ShowSeatInventory inventory = new ShowSeatInventory(show.getId(), show.getShowTime(), layout, showSeats);
+            // Holds persisted earlier (including ones that expired while no instance was running)
+            scheduleHeldPositions(inventory, null);
+            bookingMetrics.registerInventory(inventory);
+            return inventory;
+        });
+    }
+
+    // Schedule every held seat among the positions (all positions when null)
+    private void scheduleHeldPositions(ShowSeatInventory inventory, int[] positions) {
+        int count = positions != null ? positions.length : inventory.size();
+        for (int i = 0; i < count; i++) {
+            int position = positions != null ? positions[i] : i;
+            SeatSlot slot = inventory.slotAt(position);
+            if (slot.getStatus() == ShowSeatStatus.HELD && slot.getHoldExpiresAt() != null) {
+                holdExpiryWheel.schedule(new HoldExpiryWheel.Entry(inventory, new int[]{position}, new SeatSlot[]{slot}),
+                        toEpochMillis(slot.getHoldExpiresAt()));
+            }
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,173 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.dto.SeatLayoutResponse;
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.entity.SeatType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable seat layout of a theatre: which seat sits at each position, in row label then
+ * seat number order. Held as primitive arrays and shared by every show in the theatre
+ * (see {@link SeatLayoutCache}); status-only responses
+ * (see {@link SeatMapSnapshot#toCompactResponse}) refer to seats by position.
+ *
+ * The layout ID is a SHA-256 digest of the content, truncated to 128 bits, so a client
+ * can cache a layout for as long as responses keep naming the same ID.
+ */
+public class SeatLayout {
+
+    private static final SeatType[] SEAT_TYPES = SeatType.values();
+
+    private final Long theatreId;
+    private final long[] seatIds;
+    private final String[] rows;
+    private final int[] rowIndexes;
+    private final int[] seatNumbers;
+    private final byte[] seatTypeOrdinals;
+    private final Map<Long, Integer> positionBySeatId;
+    private final List<String> rowLabels;
+    private final List<String> seatTypeNames;
+    private final String layoutId;
+    private final SeatLayoutResponse response;
+
+    /**
+     * @param seats the theatre's active seats, ordered by row label and seat number
+     */
+    SeatLayout(Long theatreId, List<Seat> seats) {
+        int size = seats.size();
+        this.theatreId = theatreId;
+        this.seatIds = new long[size];
+        this.rowIndexes = new int[size];
+        this.seatNumbers = new int[size];
+        this.seatTypeOrdinals = new byte[size];
+
+        Map<String, Integer> rowIndex = new LinkedHashMap<>();
+        Map<String, Integer> typeIndex = new LinkedHashMap<>();
+        Map<Long, Integer> positions = new HashMap<>(size * 2);
+        int[] typeIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            Seat seat = seats.get(i);
+            seatIds[i] = seat.getId();
+            rowIndexes[i] = rowIndex.computeIfAbsent(seat.getRowLabel(), label -> rowIndex.size());
+            seatNumbers[i] = seat.getSeatNumber();
+            seatTypeOrdinals[i] = (byte) seat.getSeatType().ordinal();
+            typeIndexes[i] = typeIndex.computeIfAbsent(seat.getSeatType().name(), type -> typeIndex.size());
+            positions.put(seatIds[i], i);
+        }
+        this.rows = rowIndex.keySet().toArray(new String[0]);
+        this.rowLabels = Collections.unmodifiableList(Arrays.asList(rows.clone()));
+        this.seatTypeNames = Collections.unmodifiableList(new ArrayList<>(typeIndex.keySet()));
+        this.positionBySeatId = Collections.unmodifiableMap(positions);
+
+        this.layoutId = digest(seatIds, rowIndexes, seatNumbers, typeIndexes, rowLabels, seatTypeNames);
+
+        this.response = new SeatLayoutResponse(layoutId, rowLabels, seatTypeNames, seatIds.clone(),
+                rowIndexes.clone(), seatNumbers.clone(), typeIndexes);
+    }
+
+    public Long getTheatreId() {
+        return theatreId;
+    }
+
+    public String getLayoutId() {
+        return layoutId;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * @return the seat's position, or {@code null} if the seat is not part of this layout
+     */
+    public Integer positionOf(Long seatId) {
+        return positionBySeatId.get(seatId);
+    }
+
+    public Long seatIdAt(int position) {
+        return seatIds[position];
+    }
+
+    public String rowLabelAt(int position) {
+        return rows[rowIndexes[position]];
+    }
+
+    public Integer seatNumberAt(int position) {
+        return seatNumbers[position];
+    }
+
+    public SeatType seatTypeAt(int position) {
+        return SEAT_TYPES[seatTypeOrdinals[position]];
+    }
+
+    /**
+     * Row labels in layout order
+     */
+    public List<String> getRows() {
+        return rowLabels;
+    }
+
+    /**
+     * Seat type names in order of first appearance
+     */
+    public List<String> getSeatTypes() {
+        return seatTypeNames;
+    }
+
+    /**
+     * The shared response; callers must not modify it.
+     */
+    public SeatLayoutResponse toResponse() {
+        return response;
+    }
+
+    public String eTag() {
+        return "\"" + layoutId + "\"";
+    }
+
+    // Lengths are written before each field, so differently split content cannot digest the same
+    private static String digest(long[] seatIds, int[] rowIndexes, int[] seatNumbers, int[] typeIndexes,
+                                 List<String> rowLabels, List<String> seatTypeNames) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), sha256))) {
+            out.writeInt(seatIds.length);
+            for (int i = 0; i < seatIds.length; i++) {
+                out.writeLong(seatIds[i]);
+                out.writeInt(rowIndexes[i]);
+                out.writeInt(seatNumbers[i]);
+                out.writeInt(typeIndexes[i]);
+            }
+            out.writeInt(rowLabels.size());
+            for (String label : rowLabels) {
+                out.writeUTF(label);
+            }
+            out.writeInt(seatTypeNames.size());
+            for (String name : seatTypeNames) {
+                out.writeUTF(name);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(sha256.digest(), 0, 16);
+    }
+}
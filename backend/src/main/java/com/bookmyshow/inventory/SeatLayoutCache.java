@@ -0,0 +1,63 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link SeatLayout} per theatre, loaded from {@code seats} on first use.
+ *
+ * Entries are dropped by {@link SeatLayoutInvalidationListener} when a seat of the
+ * theatre is inserted, updated or deleted through JPA. Inventories already loaded keep
+ * the layout they were built with; shows loaded afterwards pick up the new layout.
+ */
+@Service
+public class SeatLayoutCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatLayoutCache.class);
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    private final Map<Long, SeatLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<String, SeatLayout> layoutsById = new ConcurrentHashMap<>();
+
+    public SeatLayout getLayout(Long theatreId) {
+        SeatLayout layout = layouts.get(theatreId);
+        if (layout != null) {
+            return layout;
+        }
+        return layouts.computeIfAbsent(theatreId, this::load);
+    }
+
+    /**
+     * The current layout with the given ID, if any theatre's layout is loaded with it.
+     */
+    public Optional<SeatLayout> findLayout(String layoutId) {
+        return Optional.ofNullable(layoutsById.get(layoutId));
+    }
+
+    public void invalidate(Long theatreId) {
+        SeatLayout layout = layouts.remove(theatreId);
+        if (layout != null) {
+            layoutsById.remove(layout.getLayoutId(), layout);
+            logger.info("Seat layout of theatre {} invalidated", theatreId);
+        }
+    }
+
+    private SeatLayout load(Long theatreId) {
+        List<Seat> seats = seatRepository.findByTheatreIdAndIsActiveTrueOrderByRowLabelAscSeatNumberAsc(theatreId);
+        logger.info("Loaded seat layout for theatre {} ({} seats)", theatreId, seats.size());
+        SeatLayout layout = new SeatLayout(theatreId, seats);
+        layoutsById.put(layout.getLayoutId(), layout);
+        return layout;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Seat;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link Seat} that drops the theatre's cached {@link SeatLayout}
+ * once the change commits, so the next load sees it.
+ *
+ * Created by Hibernate through Spring; the cache is looked up lazily because
+ * listeners are created while the entity manager factory is being built.
+ */
+public class SeatLayoutInvalidationListener {
+
+    @Autowired
+    private ObjectProvider<SeatLayoutCache> seatLayoutCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onSeatChanged(Seat seat) {
+        if (seat.getTheatre() == null) {
+            return;
+        }
+        Long theatreId = seat.getTheatre().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            seatLayoutCache.getObject().invalidate(theatreId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatLayoutCache.getObject().invalidate(theatreId);
+            }
+        });
+    }
+}
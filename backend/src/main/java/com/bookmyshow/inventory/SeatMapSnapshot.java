@@ -0,0 +1,184 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.dto.CompactSeatMapResponse;
+import com.bookmyshow.dto.SeatMapResponse;
+import com.bookmyshow.dto.SeatStatusResponse;
+import com.bookmyshow.entity.ShowSeatStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Immutable copy of a show's seat map at one inventory version.
+ *
+ * Built from the in-memory inventory without touching JPA and shared by every reader
+ * until the version changes. Per-user fields (heldByCurrentUser, remaining seconds)
+ * are filled in when a response is rendered.
+ *
+ * Expired holds do not bump the version until they are swept, so the ETag also counts
+ * how many of the snapshot's holds have expired by now.
+ */
+public class SeatMapSnapshot {
+
+    private final Long showId;
+    private final long version;
+    private final SeatMapResponse.TheatreInfo theatre;
+    private final ShowSeatInventory inventory;
+    private final SeatSlot[] slots;
+    private final List<String> rows;
+    private final List<String> seatTypes;
+    private final LocalDateTime[] holdExpiries;
+
+    public SeatMapSnapshot(ShowSeatInventory inventory, SeatMapResponse.TheatreInfo theatre) {
+        // Read before the slots so every change up to this version is captured
+        this.version = inventory.getVersion();
+        this.showId = inventory.getShowId();
+        this.theatre = theatre;
+        this.inventory = inventory;
+        this.slots = new SeatSlot[inventory.size()];
+
+        List<LocalDateTime> expiries = new ArrayList<>();
+        for (int position = 0; position < slots.length; position++) {
+            SeatSlot slot = inventory.slotAt(position);
+            slots[position] = slot;
+            if (slot.getStatus() == ShowSeatStatus.HELD && slot.getHoldExpiresAt() != null) {
+                expiries.add(slot.getHoldExpiresAt());
+            }
+        }
+        this.rows = inventory.getLayout().getRows();
+        this.seatTypes = inventory.getLayout().getSeatTypes();
+        this.holdExpiries = expiries.toArray(new LocalDateTime[0]);
+        Arrays.sort(this.holdExpiries);
+    }
+
+    public Long getShowId() {
+        return showId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public SeatMapResponse.TheatreInfo getTheatre() {
+        return theatre;
+    }
+
+    /**
+     * True while the inventory has not changed since this snapshot was taken.
+     */
+    public boolean isCurrent() {
+        return !inventory.isEvicted() && inventory.getVersion() == version;
+    }
+
+    /**
+     * True once the inventory this snapshot was taken from has been evicted.
+     */
+    public boolean isEvicted() {
+        return inventory.isEvicted();
+    }
+
+    /**
+     * Weak entity tag for the seat map as seen by {@code userId} at {@code now}.
+     */
+    public String eTag(String userId, LocalDateTime now) {
+        StringBuilder tag = new StringBuilder("W/\"")
+                .append(showId).append('-').append(version).append('-').append(expiredHoldCount(now));
+        if (userId != null) {
+            tag.append('-').append(Integer.toHexString(userId.hashCode()));
+        }
+        return tag.append('"').toString();
+    }
+
+    public SeatMapResponse toResponse(String userId, LocalDateTime now) {
+        List<SeatStatusResponse> seatStatuses = new ArrayList<>(slots.length);
+        for (int position = 0; position < slots.length; position++) {
+            SeatSlot slot = slots[position];
+            ShowSeatStatus status = slot.statusAt(now);
+            boolean isHeld = status == ShowSeatStatus.HELD;
+            LocalDateTime holdExpiresAt = isHeld ? slot.getHoldExpiresAt() : null;
+            boolean heldByCurrentUser = isHeld && userId != null && userId.equals(slot.getHeldByUserId());
+            Long remainingSeconds = holdExpiresAt != null ? Duration.between(now, holdExpiresAt).getSeconds() : null;
+
+            seatStatuses.add(new SeatStatusResponse(
+                    inventory.seatIdAt(position),
+                    inventory.rowLabelAt(position),
+                    inventory.seatNumberAt(position),
+                    inventory.seatTypeAt(position).name(),
+                    status.name(),
+                    heldByCurrentUser,
+                    holdExpiresAt,
+                    remainingSeconds
+            ));
+        }
+
+        SeatMapResponse response = new SeatMapResponse(
+                showId,
+                theatre,
+                rows,
+                seatTypes,
+                seatStatuses,
+                now
+        );
+        response.setVersion(version);
+        return response;
+    }
+
+    /**
+     * The seat map as 2-bit statuses in layout order (see {@link CompactSeatMapResponse}).
+     */
+    public CompactSeatMapResponse toCompactResponse(String userId, LocalDateTime now) {
+        byte[] packed = new byte[(slots.length + 3) / 4];
+        LocalDateTime userHoldExpiresAt = null;
+        for (int position = 0; position < slots.length; position++) {
+            SeatSlot slot = slots[position];
+            int code;
+            switch (slot.statusAt(now)) {
+                case HELD -> {
+                    if (userId != null && userId.equals(slot.getHeldByUserId())) {
+                        code = CompactSeatMapResponse.HELD_BY_CURRENT_USER;
+                        if (userHoldExpiresAt == null || slot.getHoldExpiresAt().isBefore(userHoldExpiresAt)) {
+                            userHoldExpiresAt = slot.getHoldExpiresAt();
+                        }
+                    } else {
+                        code = CompactSeatMapResponse.HELD;
+                    }
+                }
+                case BOOKED -> code = CompactSeatMapResponse.BOOKED;
+                default -> code = CompactSeatMapResponse.AVAILABLE;
+            }
+            packed[position >> 2] |= (byte) (code << ((position & 3) << 1));
+        }
+        return new CompactSeatMapResponse(
+                showId,
+                version,
+                inventory.getLayout().getLayoutId(),
+                slots.length,
+                Base64.getEncoder().encodeToString(packed),
+                userHoldExpiresAt,
+                now
+        );
+    }
+
+    public SeatLayout getLayout() {
+        return inventory.getLayout();
+    }
+
+    // Number of holds in this snapshot that have expired by now (binary search over sorted expiries)
+    private int expiredHoldCount(LocalDateTime now) {
+        int low = 0;
+        int high = holdExpiries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (holdExpiries[mid].isAfter(now)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.ShowSeatStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable state of one seat in a {@link ShowSeatInventory}.
+ *
+ * A new instance is created for every state change so that compare-and-set
+ * on the inventory array compares identities, never values.
+ */
+public final class SeatSlot {
+
+    private final ShowSeatStatus status;
+    private final String heldByUserId;
+    private final LocalDateTime holdExpiresAt;
+
+    private SeatSlot(ShowSeatStatus status, String heldByUserId, LocalDateTime holdExpiresAt) {
+        this.status = status;
+        this.heldByUserId = heldByUserId;
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public static SeatSlot of(ShowSeatStatus status, String heldByUserId, LocalDateTime holdExpiresAt) {
+        if (status != ShowSeatStatus.HELD) {
+            return new SeatSlot(status, null, null);
+        }
+        return new SeatSlot(status, heldByUserId, holdExpiresAt);
+    }
+
+    public static SeatSlot available() {
+        return new SeatSlot(ShowSeatStatus.AVAILABLE, null, null);
+    }
+
+    public static SeatSlot held(String userId, LocalDateTime holdExpiresAt) {
+        return new SeatSlot(ShowSeatStatus.HELD, userId, holdExpiresAt);
+    }
+
+    public static SeatSlot booked() {
+        return new SeatSlot(ShowSeatStatus.BOOKED, null, null);
+    }
+
+    /**
+     * A hold only counts while it has not expired; an expired hold is treated as available.
+     */
+    public boolean isHeldAt(LocalDateTime now) {
+        return status == ShowSeatStatus.HELD && holdExpiresAt != null && holdExpiresAt.isAfter(now);
+    }
+
+    public boolean isAvailableAt(LocalDateTime now) {
+        return status == ShowSeatStatus.AVAILABLE || (status == ShowSeatStatus.HELD && !isHeldAt(now));
+    }
+
+    public boolean isHeldBy(String userId, LocalDateTime now) {
+        return isHeldAt(now) && userId != null && userId.equals(heldByUserId);
+    }
+
+    /**
+     * Status as seen by clients at the given time (expired holds report AVAILABLE).
+     */
+    public ShowSeatStatus statusAt(LocalDateTime now) {
+        return isAvailableAt(now) ? ShowSeatStatus.AVAILABLE : status;
+    }
+
+    public ShowSeatStatus getStatus() {
+        return status;
+    }
+
+    public String getHeldByUserId() {
+        return heldByUserId;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+}
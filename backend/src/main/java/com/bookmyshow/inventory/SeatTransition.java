@@ -0,0 +1,68 @@
+package com.bookmyshow.inventory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of an all-or-nothing state change on a {@link ShowSeatInventory}.
+ *
+ * When the change was applied it keeps the previous and applied slots so the
+ * change can be reverted (for example when the surrounding DB transaction rolls back).
+ */
+public class SeatTransition {
+
+    private final int[] positions;
+    private final SeatSlot[] previous;
+    private final SeatSlot[] applied;
+    private final List<Long> failedSeatIds;
+    private long version;
+
+    SeatTransition(int[] positions, SeatSlot[] previous, SeatSlot[] applied) {
+        this.positions = positions;
+        this.previous = previous;
+        this.applied = applied;
+        this.failedSeatIds = Collections.emptyList();
+    }
+
+    SeatTransition(int[] positions, List<Long> failedSeatIds) {
+        this.positions = positions;
+        this.previous = null;
+        this.applied = null;
+        this.failedSeatIds = failedSeatIds;
+    }
+
+    public boolean isApplied() {
+        return failedSeatIds.isEmpty();
+    }
+
+    public List<Long> getFailedSeatIds() {
+        return failedSeatIds;
+    }
+
+    /**
+     * Inventory version produced by this transition; 0 if it was not applied.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int size() {
+        return positions.length;
+    }
+
+    int[] getPositions() {
+        return positions;
+    }
+
+    SeatSlot[] getPrevious() {
+        return previous;
+    }
+
+    SeatSlot[] getApplied() {
+        return applied;
+    }
+}
@@ -0,0 +1,356 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.SeatType;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.entity.ShowSeatStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory seat state for a single show.
+ *
+ * Seats are addressed by their position in the theatre's {@link SeatLayout} (row label,
+ * then seat number); the layout is shared, only the slots are per show.
+ * Each position holds an immutable {@link SeatSlot} and is changed with compare-and-set,
+ * so concurrent buyers on the same show never block each other. Multi-seat changes are
+ * all-or-nothing: if one seat cannot be claimed, the seats already claimed are rolled back.
+ *
+ * Positions changed by holds, releases and expiries are recorded as dirty and written to
+ * {@code show_seats} later by {@link SeatInventoryService}.
+ *
+ * Every applied change bumps the show's version, and so does a failed multi-seat change
+ * that had to roll back seats it had already claimed. The version is bumped after the
+ * slots change, so a reader that sees version v also sees every change up to v.
+ */
+public class ShowSeatInventory {
+
+    private final Long showId;
+    private final LocalDateTime showTime;
+    private final SeatLayout layout;
+    private final long[] showSeatIds;
+    private final AtomicReferenceArray<SeatSlot> slots;
+    private final Set<Integer> dirtyPositions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean evicted;
+
+    /**
+     * @param showTime when the show starts; the inventory may be evicted after that
+     * @param layout the theatre layout, shared with the theatre's other shows
+     * @param showSeats the show's seats in any order; only their seat IDs are read from the seat
+     */
+    ShowSeatInventory(Long showId, LocalDateTime showTime, SeatLayout layout, List<ShowSeat> showSeats) {
+        int size = layout.size();
+        this.showId = showId;
+        this.showTime = showTime;
+        this.layout = layout;
+        this.showSeatIds = new long[size];
+        this.slots = new AtomicReferenceArray<>(size);
+
+        for (ShowSeat showSeat : showSeats) {
+            Integer position = layout.positionOf(showSeat.getSeat().getId());
+            if (position == null) {
+                // Seat deactivated or added after the layout was loaded
+                continue;
+            }
+            showSeatIds[position] = showSeat.getId();
+            slots.set(position, SeatSlot.of(showSeat.getStatus(), showSeat.getHeldByUserId(), showSeat.getHoldExpiresAt()));
+        }
+        for (int position = 0; position < size; position++) {
+            // No show seat to write to, so the seat can never be held
+            if (slots.get(position) == null) {
+                slots.set(position, SeatSlot.booked());
+            }
+        }
+    }
+
+    public Long getShowId() {
+        return showId;
+    }
+
+    public LocalDateTime getShowTime() {
+        return showTime;
+    }
+
+    public int size() {
+        return layout.size();
+    }
+
+    /**
+     * True once {@link SeatInventoryService} has dropped this inventory; a later request
+     * for the show loads a new one, so anything derived from this one is out of date.
+     */
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    void markEvicted() {
+        evicted = true;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Resolve seat IDs to positions, in ascending position order.
+     *
+     * @return the positions, or {@code null} if any seat ID is unknown for this show or repeated
+     */
+    public int[] positionsOf(List<Long> requestedSeatIds) {
+        int[] positions = new int[requestedSeatIds.size()];
+        for (int i = 0; i < positions.length; i++) {
+            Integer position = layout.positionOf(requestedSeatIds.get(i));
+            if (position == null) {
+                return null;
+            }
+            positions[i] = position;
+        }
+        Arrays.sort(positions);
+        for (int i = 1; i < positions.length; i++) {
+            if (positions[i] == positions[i - 1]) {
+                return null;
+            }
+        }
+        return positions;
+    }
+
+    public SeatTransition hold(int[] positions, String userId, LocalDateTime holdExpiresAt, LocalDateTime now) {
+        SeatTransition transition = apply(positions,
+                slot -> slot.isAvailableAt(now),
+                slot -> SeatSlot.held(userId, holdExpiresAt));
+        recordApplied(transition, true);
+        return transition;
+    }
+
+    public SeatTransition release(int[] positions, String userId, LocalDateTime now) {
+        SeatTransition transition = apply(positions,
+                slot -> slot.isHeldBy(userId, now),
+                slot -> SeatSlot.available());
+        recordApplied(transition, true);
+        return transition;
+    }
+
+    /**
+     * Move seats held by the user to BOOKED. Not marked dirty: the caller persists
+     * booked seats in its own transaction and should {@link #revert} on rollback.
+     */
+    public SeatTransition book(int[] positions, String userId, LocalDateTime now) {
+        SeatTransition transition = apply(positions,
+                slot -> slot.isHeldBy(userId, now),
+                slot -> SeatSlot.booked());
+        recordApplied(transition, false);
+        return transition;
+    }
+
+    /**
+     * Set the slots unconditionally, mirroring a change the database already decided
+     * (see {@link SeatHoldMode#OPTIMISTIC}). Not marked dirty.
+     */
+    SeatTransition overwrite(int[] positions, SeatSlot slot) {
+        SeatSlot[] previous = new SeatSlot[positions.length];
+        SeatSlot[] applied = new SeatSlot[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            previous[i] = slots.getAndSet(positions[i], slot);
+            applied[i] = slot;
+        }
+        SeatTransition transition = new SeatTransition(positions, previous, applied);
+        recordApplied(transition, false);
+        return transition;
+    }
+
+    /**
+     * Return expired holds to AVAILABLE. Only positions that still hold exactly the
+     * given slots are changed, so seats released, booked or re-held since are left alone.
+     *
+     * @param heldSlots the slots installed by the hold, one per position
+     * @return the expired positions (possibly none) as an applied transition
+     */
+    SeatTransition expire(int[] positions, SeatSlot[] heldSlots, LocalDateTime now) {
+        List<Integer> expired = new ArrayList<>();
+        List<SeatSlot> previous = new ArrayList<>();
+        List<SeatSlot> applied = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            SeatSlot held = heldSlots[i];
+            if (held.isHeldAt(now)) {
+                continue;
+            }
+            SeatSlot target = SeatSlot.available();
+            if (slots.compareAndSet(positions[i], held, target)) {
+                expired.add(positions[i]);
+                previous.add(held);
+                applied.add(target);
+            }
+        }
+        SeatTransition transition = new SeatTransition(
+                expired.stream().mapToInt(Integer::intValue).toArray(),
+                previous.toArray(new SeatSlot[0]),
+                applied.toArray(new SeatSlot[0]));
+        if (!expired.isEmpty()) {
+            recordApplied(transition, true);
+        }
+        return transition;
+    }
+
+    /**
+     * Undo an applied transition. Seats changed by someone else since then are left alone.
+     */
+    public void revert(SeatTransition transition) {
+        if (!transition.isApplied()) {
+            return;
+        }
+        int[] positions = transition.getPositions();
+        boolean changed = false;
+        for (int i = 0; i < positions.length; i++) {
+            if (slots.compareAndSet(positions[i], transition.getApplied()[i], transition.getPrevious()[i])) {
+                dirtyPositions.add(positions[i]);
+                changed = true;
+            }
+        }
+        if (changed) {
+            version.incrementAndGet();
+        }
+    }
+
+    private SeatTransition apply(int[] positions, Predicate<SeatSlot> allowed, Function<SeatSlot, SeatSlot> next) {
+        SeatSlot[] previous = new SeatSlot[positions.length];
+        SeatSlot[] applied = new SeatSlot[positions.length];
+
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            while (true) {
+                SeatSlot current = slots.get(position);
+                if (!allowed.test(current)) {
+                    List<Long> failed = collectFailed(positions, i, allowed);
+                    for (int j = 0; j < i; j++) {
+                        slots.compareAndSet(positions[j], applied[j], previous[j]);
+                    }
+                    // A snapshot may have seen the seats claimed before the rollback; a new
+                    // version makes it stale instead of serving those seats as held
+                    if (i > 0) {
+                        version.incrementAndGet();
+                    }
+                    return new SeatTransition(positions, failed);
+                }
+                SeatSlot target = next.apply(current);
+                if (slots.compareAndSet(position, current, target)) {
+                    previous[i] = current;
+                    applied[i] = target;
+                    break;
+                }
+            }
+        }
+        return new SeatTransition(positions, previous, applied);
+    }
+
+    // Report every seat that fails the check, not only the first one
+    private List<Long> collectFailed(int[] positions, int firstFailed, Predicate<SeatSlot> allowed) {
+        List<Long> failed = new ArrayList<>();
+        failed.add(layout.seatIdAt(positions[firstFailed]));
+        for (int i = firstFailed + 1; i < positions.length; i++) {
+            if (!allowed.test(slots.get(positions[i]))) {
+                failed.add(layout.seatIdAt(positions[i]));
+            }
+        }
+        return failed;
+    }
+
+    private void recordApplied(SeatTransition transition, boolean dirty) {
+        if (!transition.isApplied()) {
+            return;
+        }
+        if (dirty) {
+            for (int position : transition.getPositions()) {
+                dirtyPositions.add(position);
+            }
+        }
+        transition.setVersion(version.incrementAndGet());
+    }
+
+    /**
+     * Remove and return the dirty positions. The current slot should be read after
+     * draining so that a concurrent change is either written now or re-marked dirty.
+     */
+    List<Integer> drainDirty() {
+        List<Integer> drained = new ArrayList<>();
+        Iterator<Integer> it = dirtyPositions.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    boolean hasDirtyPositions() {
+        return !dirtyPositions.isEmpty();
+    }
+
+    /**
+     * Mark drained positions dirty again, so a write that failed is retried.
+     */
+    void markDirty(List<Integer> positions) {
+        dirtyPositions.addAll(positions);
+    }
+
+    public List<Long> seatIdsOf(SeatTransition transition) {
+        List<Long> ids = new ArrayList<>(transition.size());
+        for (int position : transition.getPositions()) {
+            ids.add(layout.seatIdAt(position));
+        }
+        return ids;
+    }
+
+    /**
+     * Number of seats in the given status as seen at {@code now} (expired holds count as available).
+     */
+    public int countByStatus(ShowSeatStatus status, LocalDateTime now) {
+        int count = 0;
+        for (int position = 0; position < slots.length(); position++) {
+            if (slots.get(position).statusAt(now) == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public SeatSlot slotAt(int position) {
+        return slots.get(position);
+    }
+
+    /**
+     * @return the slot for the seat, or {@code null} if the seat is not part of this show
+     */
+    public SeatSlot slotOf(Long seatId) {
+        Integer position = layout.positionOf(seatId);
+        return position != null ? slots.get(position) : null;
+    }
+
+    public long showSeatIdAt(int position) {
+        return showSeatIds[position];
+    }
+
+    public Long seatIdAt(int position) {
+        return layout.seatIdAt(position);
+    }
+
+    public String rowLabelAt(int position) {
+        return layout.rowLabelAt(position);
+    }
+
+    public Integer seatNumberAt(int position) {
+        return layout.seatNumberAt(position);
+    }
+
+    public SeatType seatTypeAt(int position) {
+        return layout.seatTypeAt(position);
+    }
+}
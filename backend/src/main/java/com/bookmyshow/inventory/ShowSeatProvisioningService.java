@@ -0,0 +1,35 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Materializes {@code show_seats} for a show, once, when the show is created.
+ *
+ * Hold and confirm paths then only need an existence check instead of
+ * loading every seat of the show to find out whether rows are missing.
+ */
+@Service
+public class ShowSeatProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShowSeatProvisioningService.class);
+
+    @Autowired
+    private ShowSeatBatchRepository showSeatBatchRepository;
+
+    /**
+     * Create the show's seats from the theatre's active seats. Idempotent.
+     * Runs in the caller's transaction.
+     */
+    public int provision(Show show) {
+        int created = showSeatBatchRepository.insertShowSeats(show.getId(), show.getTheatre().getId());
+        if (created > 0) {
+            logger.info("Provisioned {} show seat(s) for show {}", created, show.getId());
+        }
+        return created;
+    }
+}
@@ -0,0 +1,180 @@
+package com.bookmyshow.metrics;
+
+import com.bookmyshow.dto.SeatStatusDelta;
+import com.bookmyshow.entity.ShowSeatStatus;
+import com.bookmyshow.exception.BookingException;
+import com.bookmyshow.exception.SeatHoldConflictException;
+import com.bookmyshow.inventory.ShowSeatInventory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the booking funnel, published at /actuator/prometheus on the management port.
+ *
+ * <ul>
+ *   <li>bms.seat.hold, bms.booking.confirm - latency by outcome (success, conflict, rejected, error)</li>
+ *   <li>bms.seat.arbitration - time spent deciding who gets the seats, by seat.hold.mode</li>
+ *   <li>bms.seat.hold.conflicts - holds that lost to another buyer</li>
+ *   <li>bms.seat.transitions - seats changed, by type (HELD, RELEASED, BOOKED, EXPIRED);
+ *       the BOOKED to HELD rate ratio is the hold-to-confirm conversion</li>
+ *   <li>bms.seats.held, bms.seats.booked - current counts per loaded show, removed when the
+ *       show's inventory is evicted after it starts</li>
+ *   <li>bms.seatmap.snapshot - seat map snapshot lookups by result (cached, rebuilt, loaded, missing)</li>
+ *   <li>bms.scheduler.run - duration of scheduled tasks by task</li>
+ *   <li>bms.inventory.flush.failures - seat state changes whose write-behind failed and will be retried</li>
+ *   <li>bms.notification.delivery - outbox deliveries by outcome (sent, retry, failed)</li>
+ *   <li>bms.reminder.call - reminder call attempts by outcome (sent, retry, failed, rejected),
+ *       and reminders skipped as too close to show time (late)</li>
+ *   <li>bms.auth.password.hash - password hashing time by operation (encode, matches)</li>
+ *   <li>bms.auth.password.wait - time a hash waited for a hashing thread</li>
+ *   <li>bms.auth.password.queue - hashes waiting for a thread</li>
+ *   <li>bms.auth.password.rejected - logins and signups turned away, by reason (queue-full, timeout)</li>
+ * </ul>
+ */
+@Component
+public class BookingMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter holdConflicts;
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.holdConflicts = Counter.builder("bms.seat.hold.conflicts")
+                .description("Seat holds rejected because a seat was taken")
+                .register(registry);
+    }
+
+    public <T> T timeHold(Supplier<T> hold) {
+        return timeOutcome("bms.seat.hold", hold);
+    }
+
+    public <T> T timeConfirm(Supplier<T> confirm) {
+        return timeOutcome("bms.booking.confirm", confirm);
+    }
+
+    public <T> T timeArbitration(String mode, Supplier<T> arbitration) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return arbitration.get();
+        } finally {
+            sample.stop(histogram("bms.seat.arbitration").tag("mode", mode).register(registry));
+        }
+    }
+
+    public void recordSeatMapSnapshot(Timer.Sample sample, String result) {
+        sample.stop(histogram("bms.seatmap.snapshot").tag("result", result).register(registry));
+    }
+
+    public void recordWriteBehindFailure(int rows) {
+        Counter.builder("bms.inventory.flush.failures")
+                .description("Seat state changes whose write-behind failed and will be retried")
+                .register(registry)
+                .increment(rows);
+    }
+
+    public void recordNotificationDelivery(String outcome) {
+        Counter.builder("bms.notification.delivery").tag("outcome", outcome).register(registry).increment();
+    }
+
+    public void recordReminderCall(String outcome) {
+        Counter.builder("bms.reminder.call").tag("outcome", outcome).register(registry).increment();
+    }
+
+    public void recordPasswordHash(Timer.Sample sample, String operation) {
+        sample.stop(histogram("bms.auth.password.hash").tag("operation", operation).register(registry));
+    }
+
+    public void recordPasswordHashWait(Timer.Sample sample) {
+        sample.stop(histogram("bms.auth.password.wait").register(registry));
+    }
+
+    public void recordPasswordHashRejected(String reason) {
+        Counter.builder("bms.auth.password.rejected").tag("reason", reason).register(registry).increment();
+    }
+
+    public void registerPasswordHashQueue(ThreadPoolExecutor executor) {
+        Gauge.builder("bms.auth.password.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void timeScheduledTask(String task, Runnable run) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            run.run();
+        } finally {
+            sample.stop(Timer.builder("bms.scheduler.run").tag("task", task).register(registry));
+        }
+    }
+
+    // Counted from the published deltas, so bookings are only counted once they commit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStatusDelta(SeatStatusDelta delta) {
+        Counter.builder("bms.seat.transitions")
+                .description("Seats changed, by transition type")
+                .tag("type", delta.getType().name())
+                .register(registry)
+                .increment(delta.getSeatIds().size());
+    }
+
+    /**
+     * Gauges for the current HELD and BOOKED seat counts of a show, read on scrape.
+     */
+    public void registerInventory(ShowSeatInventory inventory) {
+        String show = String.valueOf(inventory.getShowId());
+        Gauge.builder("bms.seats.held", inventory,
+                        inv -> inv.countByStatus(ShowSeatStatus.HELD, LocalDateTime.now()))
+                .tag("show", show)
+                .register(registry);
+        Gauge.builder("bms.seats.booked", inventory,
+                        inv -> inv.countByStatus(ShowSeatStatus.BOOKED, LocalDateTime.now()))
+                .tag("show", show)
+                .register(registry);
+    }
+
+    public void unregisterInventory(ShowSeatInventory inventory) {
+        String show = String.valueOf(inventory.getShowId());
+        for (String name : List.of("bms.seats.held", "bms.seats.booked")) {
+            Gauge gauge = registry.find(name).tag("show", show).gauge();
+            if (gauge != null) {
+                registry.remove(gauge);
+            }
+        }
+    }
+
+    private <T> T timeOutcome(String name, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (SeatHoldConflictException e) {
+            outcome = "conflict";
+            holdConflicts.increment();
+            throw e;
+        } catch (BookingException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(histogram(name).tag("outcome", outcome).register(registry));
+        }
+    }
+
+    private static Timer.Builder histogram(String name) {
+        return Timer.builder(name).publishPercentileHistogram();
+    }
+}
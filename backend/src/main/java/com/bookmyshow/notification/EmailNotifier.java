@@ -55,18 +55,19 @@ public class EmailNotifier implements Notifier {
                 try {
                     sendEmailWithPdf(booking, seats, email, seatLabels);
                     logger.info("✅ EMAIL SENT successfully to {} for booking {}", email, booking.getId());
-                } catch (Exception e) {
+                } catch (RuntimeException e) {
                     logger.error("❌ Failed to send email to {} for booking {}: {}", email, booking.getId(), e.getMessage());
-                    // Fallback: log email details
-                    logEmailDetails(booking, seats, email, seatLabels);
+                    // Rethrown so the notification outbox retries the delivery
+                    throw e;
                 }
             } else {
                 // Log email content if mail is not configured
                 logger.warn("⚠️ EMAIL NOT CONFIGURED - Email details logged below:");
                 logEmailDetails(booking, seats, email, seatLabels);
             }
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             logger.error("Failed to send email for booking {}", booking.getId(), e);
+            throw e;
         }
     }
 
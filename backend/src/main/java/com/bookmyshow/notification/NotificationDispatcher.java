@@ -4,7 +4,6 @@ import com.bookmyshow.entity.Booking;
 import com.bookmyshow.entity.ShowSeat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,8 +19,13 @@ public class NotificationDispatcher {
         this.notifiers = notifiers;
     }
 
-    @Async
-    public void sendBookingConfirmation(Booking booking, List<ShowSeat> seats, String email, String phoneNumber) {
+    /**
+     * Send the confirmation through every notifier on the calling thread.
+     * Called by {@link NotificationOutboxWorker}, which retries the whole dispatch on failure.
+     *
+     * @return the number of notifiers that failed
+     */
+    public int sendBookingConfirmation(Booking booking, List<ShowSeat> seats, String email, String phoneNumber) {
         logger.info("🚀 Starting notification dispatch for booking {}", booking.getId());
         logger.info("Email: {}, Phone: {}", email != null ? email : "not provided", phoneNumber != null ? phoneNumber : "not provided");
         
@@ -71,5 +75,6 @@ public class NotificationDispatcher {
         }
         
         logger.info("📊 Notification summary: {} succeeded, {} failed", successCount, failCount);
+        return failCount;
     }
 }
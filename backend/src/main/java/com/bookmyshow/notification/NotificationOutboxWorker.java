@@ -0,0 +1,221 @@
+package com.bookmyshow.notification;
+
+import com.bookmyshow.config.VirtualThreads;
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.entity.NotificationOutbox;
+import com.bookmyshow.entity.NotificationOutboxStatus;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.repository.BookingRepository;
+import com.bookmyshow.repository.BookingSeatRepository;
+import com.bookmyshow.repository.NotificationOutboxRepository;
+import com.bookmyshow.repository.ShowSeatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the notification outbox.
+ *
+ * Every poll claims a batch of due PENDING rows and hands them to a bounded worker pool,
+ * which reloads the booking and its seats and runs {@link NotificationDispatcher} outside
+ * any transaction. A claim only pushes the row's next attempt out by a lease, so a row
+ * whose worker dies is picked up again once the lease lapses.
+ *
+ * Delivery is at-least-once: a failed dispatch is retried as a whole with exponential
+ * backoff and jitter, so notifiers that already succeeded may send again. After
+ * {@code notification.outbox.max-attempts} the row is marked FAILED.
+ */
+@Service
+public class NotificationOutboxWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+
+    @Autowired
+    private ShowSeatRepository showSeatRepository;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${notification.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.outbox.workers:4}")
+    private int workers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${notification.outbox.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.backoff-base-seconds:5}")
+    private long backoffBaseSeconds;
+
+    @Value("${notification.outbox.backoff-max-seconds:900}")
+    private long backoffMaxSeconds;
+
+    @Value("${notification.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        // Workers block on SMTP/Twilio; virtual threads make more workers cheap
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), VirtualThreads.threadFactory("notification-outbox-", virtualThreads));
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void pollOutbox() {
+        bookingMetrics.timeScheduledTask("notification-outbox", this::claimDue);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        // Unfinished rows are retried by the next instance once their lease lapses
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void claimDue() {
+        // Only take as many rows as the pool can queue, leaving the rest for the next poll
+        int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+        if (capacity == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> due = outboxRepository.findDue(
+                NotificationOutboxStatus.PENDING, now, PageRequest.of(0, capacity));
+        if (due.isEmpty()) return;
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        for (NotificationOutbox entry : due) {
+            Integer claimed = template.execute(status ->
+                    outboxRepository.claim(entry.getId(), entry.getNextAttemptAt(), leaseUntil));
+            if (claimed == null || claimed == 0) {
+                continue; // claimed by another instance
+            }
+            try {
+                executor.execute(() -> deliver(entry));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Notification queue full; outbox entry {} retried after its lease", entry.getId());
+                return;
+            }
+        }
+    }
+
+    private void deliver(NotificationOutbox entry) {
+        String error;
+        try {
+            Optional<Booking> booking = bookingRepository.findByIdWithShowDetails(entry.getBookingId());
+            if (booking.isEmpty()) {
+                markFailed(entry, "Booking not found: " + entry.getBookingId());
+                return;
+            }
+
+            List<Long> seatIds = bookingSeatRepository.findByBookingId(entry.getBookingId()).stream()
+                    .map(bookingSeat -> bookingSeat.getSeat().getId())
+                    .toList();
+            List<ShowSeat> seats = showSeatRepository.findByShowIdAndSeatIdIn(
+                    booking.get().getShow().getId(), seatIds);
+
+            int failures = notificationDispatcher.sendBookingConfirmation(
+                    booking.get(), seats, entry.getEmail(), entry.getPhoneNumber());
+            if (failures == 0) {
+                markSent(entry);
+                return;
+            }
+            error = failures + " notifier(s) failed";
+        } catch (Exception e) {
+            logger.error("Notification delivery failed for booking {}: {}", entry.getBookingId(), e.getMessage(), e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        scheduleRetry(entry, error);
+    }
+
+    private void markSent(NotificationOutbox entry) {
+        entry.setStatus(NotificationOutboxStatus.SENT);
+        entry.setAttempts(entry.getAttempts() + 1);
+        entry.setSentAt(LocalDateTime.now());
+        entry.setLastError(null);
+        outboxRepository.save(entry);
+        bookingMetrics.recordNotificationDelivery("sent");
+    }
+
+    private void scheduleRetry(NotificationOutbox entry, String error) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            entry.setAttempts(attempts);
+            markFailed(entry, error);
+            return;
+        }
+
+        // Exponential backoff with equal jitter: half the delay is fixed, half random
+        long delay = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(attempts - 1, 20));
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(error));
+        entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(jittered));
+        outboxRepository.save(entry);
+        bookingMetrics.recordNotificationDelivery("retry");
+        logger.warn("Notification for booking {} failed (attempt {}), retrying in {}s",
+                entry.getBookingId(), attempts, jittered);
+    }
+
+    private void markFailed(NotificationOutbox entry, String error) {
+        entry.setStatus(NotificationOutboxStatus.FAILED);
+        entry.setLastError(truncate(error));
+        outboxRepository.save(entry);
+        bookingMetrics.recordNotificationDelivery("failed");
+        logger.error("Giving up on notification for booking {} after {} attempt(s): {}",
+                entry.getBookingId(), entry.getAttempts(), error);
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
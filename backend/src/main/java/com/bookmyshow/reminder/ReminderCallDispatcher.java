@@ -0,0 +1,180 @@
+package com.bookmyshow.reminder;
+
+import com.bookmyshow.config.VirtualThreads;
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.metrics.BookingMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places reminder calls selected by the reminder scheduler.
+ *
+ * Calls run on a bounded pool so one slow call does not hold up the rest, and every
+ * provider has its own token bucket so a rush stays within the provider's calls-per-second
+ * limit. Failed calls are retried with exponential backoff and full jitter until
+ * {@code reminder.call.max-attempts} or the show time, whichever comes first.
+ */
+@Service
+public class ReminderCallDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderCallDispatcher.class);
+
+    /**
+     * Told how a dispatched call ended; called on a dispatcher thread.
+     */
+    public interface ReminderCallListener {
+
+        void onSent(String callSid);
+
+        void onFailed(Exception error);
+    }
+
+    @Autowired
+    private List<ReminderCallProvider> providers;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${reminder.call.provider:twilio}")
+    private String providerName;
+
+    @Value("${reminder.call.workers:16}")
+    private int workers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${reminder.call.queue-capacity:2000}")
+    private int queueCapacity;
+
+    @Value("${reminder.call.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${reminder.call.burst:10}")
+    private int burst;
+
+    @Value("${reminder.call.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${reminder.call.backoff-base-ms:1000}")
+    private long backoffBaseMs;
+
+    @Value("${reminder.call.backoff-max-ms:15000}")
+    private long backoffMaxMs;
+
+    private ReminderCallProvider provider;
+    private final Map<String, TokenBucket> rateLimiters = new HashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        for (ReminderCallProvider candidate : providers) {
+            rateLimiters.put(candidate.getName(), new TokenBucket(ratePerSecond, burst));
+            if (candidate.getName().equalsIgnoreCase(providerName)) {
+                provider = candidate;
+            }
+        }
+        if (provider == null) {
+            throw new IllegalStateException("Unknown reminder.call.provider: " + providerName);
+        }
+
+        // Workers block on the call provider and rate limiter; virtual threads make more workers cheap
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), VirtualThreads.threadFactory("reminder-call-", virtualThreads));
+        logger.info("Reminder calls via {} on {} thread(s), {} call(s)/s", provider.getName(), workers, ratePerSecond);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public boolean hasCapacity() {
+        return executor.getQueue().remainingCapacity() > 0;
+    }
+
+    /**
+     * Queue a reminder call.
+     *
+     * @param deadline no attempt is started after this time
+     * @return false if the queue is full and the call was not queued
+     */
+    public boolean dispatch(Booking booking, String phoneNumber, LocalDateTime deadline, ReminderCallListener listener) {
+        try {
+            executor.execute(() -> call(booking, phoneNumber, deadline, listener));
+            return true;
+        } catch (RejectedExecutionException e) {
+            bookingMetrics.recordReminderCall("rejected");
+            return false;
+        }
+    }
+
+    private void call(Booking booking, String phoneNumber, LocalDateTime deadline, ReminderCallListener listener) {
+        TokenBucket rateLimiter = rateLimiters.get(provider.getName());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+                String callSid = provider.placeReminderCall(booking, phoneNumber);
+                bookingMetrics.recordReminderCall("sent");
+                notify(booking, () -> listener.onSent(callSid));
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                notify(booking, () -> listener.onFailed(e));
+                return;
+            } catch (Exception e) {
+                long backoffMs = backoffMs(attempt);
+                if (attempt >= maxAttempts || LocalDateTime.now().plusNanos(backoffMs * 1_000_000).isAfter(deadline)) {
+                    logger.error("❌ Reminder call for booking {} failed after {} attempt(s): {}",
+                            booking.getId(), attempt, e.getMessage());
+                    bookingMetrics.recordReminderCall("failed");
+                    notify(booking, () -> listener.onFailed(e));
+                    return;
+                }
+                logger.warn("⚠️ Reminder call for booking {} failed (attempt {}), retrying in {} ms: {}",
+                        booking.getId(), attempt, backoffMs, e.getMessage());
+                bookingMetrics.recordReminderCall("retry");
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    notify(booking, () -> listener.onFailed(interrupted));
+                    return;
+                }
+            }
+        }
+    }
+
+    // Full jitter: a random delay up to the exponential backoff
+    private long backoffMs(int attempt) {
+        long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void notify(Booking booking, Runnable callback) {
+        try {
+            callback.run();
+        } catch (Exception e) {
+            logger.error("Failed to record reminder call result for booking {}: {}", booking.getId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.bookmyshow.reminder;
+
+import com.bookmyshow.entity.Booking;
+
+/**
+ * Places reminder calls. The active provider is chosen by name with {@code reminder.call.provider}.
+ */
+public interface ReminderCallProvider {
+
+    String getName();
+
+    /**
+     * @param booking booking with its show, movie and theatre loaded
+     * @return the provider's call identifier
+     */
+    String placeReminderCall(Booking booking, String phoneNumber);
+}
@@ -0,0 +1,49 @@
+package com.bookmyshow.reminder;
+
+import com.bookmyshow.entity.Booking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local provider for development and load tests ({@code reminder.call.provider=stub}).
+ * Logs the call instead of dialing, optionally with a simulated latency and failure rate.
+ */
+@Component
+public class StubReminderCallProvider implements ReminderCallProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubReminderCallProvider.class);
+
+    @Value("${reminder.call.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${reminder.call.stub.failure-rate:0}")
+    private double failureRate;
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public String placeReminderCall(Booking booking, String phoneNumber) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while placing stub call", e);
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new RuntimeException("Simulated call failure for booking " + booking.getId());
+        }
+        String callSid = "STUB-" + UUID.randomUUID();
+        logger.info("📞 [stub] Reminder call to {} for booking {} - Call SID: {}", phoneNumber, booking.getId(), callSid);
+        return callSid;
+    }
+}
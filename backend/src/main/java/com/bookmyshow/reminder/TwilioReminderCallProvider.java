@@ -0,0 +1,23 @@
+package com.bookmyshow.reminder;
+
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.service.CallService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TwilioReminderCallProvider implements ReminderCallProvider {
+
+    @Autowired
+    private CallService callService;
+
+    @Override
+    public String getName() {
+        return "twilio";
+    }
+
+    @Override
+    public String placeReminderCall(Booking booking, String phoneNumber) {
+        return callService.makeReminderCall(booking, phoneNumber);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookmyshow.repository;
+
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.entity.BookingReminder;
+import com.bookmyshow.entity.BookingReminderStatus;
+import com.bookmyshow.entity.BookingStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingReminderRepository extends JpaRepository<BookingReminder, Long> {
+
+    /**
+     * Reminders in the given status due by {@code until}, oldest first (ties by ID). Reads a
+     * range of the (status, remind_at) index, so the cost follows the number of due reminders.
+     */
+    @Query("""
+        SELECT r FROM BookingReminder r
+        JOIN FETCH r.booking b
+        JOIN FETCH b.show s
+        JOIN FETCH s.movie
+        JOIN FETCH s.theatre
+        WHERE r.status = :status AND r.remindAt <= :until
+        ORDER BY r.remindAt ASC, r.id ASC
+    """)
+    List<BookingReminder> findDue(
+            @Param("status") BookingReminderStatus status,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    /**
+     * The page of {@link #findDue} after the reminder at ({@code afterRemindAt}, {@code afterId}),
+     * so reminders that stay in the status are not read again by the same check.
+     */
+    @Query("""
+        SELECT r FROM BookingReminder r
+        JOIN FETCH r.booking b
+        JOIN FETCH b.show s
+        JOIN FETCH s.movie
+        JOIN FETCH s.theatre
+        WHERE r.status = :status AND r.remindAt <= :until
+        AND (r.remindAt > :afterRemindAt OR (r.remindAt = :afterRemindAt AND r.id > :afterId))
+        ORDER BY r.remindAt ASC, r.id ASC
+    """)
+    List<BookingReminder> findDueAfter(
+            @Param("status") BookingReminderStatus status,
+            @Param("until") LocalDateTime until,
+            @Param("afterRemindAt") LocalDateTime afterRemindAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    /**
+     * Move a reminder from one status to another, in its own transaction.
+     *
+     * @return 1 if this caller made the change, 0 if the reminder was no longer in {@code from}
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE BookingReminder r
+        SET r.status = :to, r.processedAt = :now
+        WHERE r.id = :id AND r.status = :from
+    """)
+    int transition(
+            @Param("id") Long id,
+            @Param("from") BookingReminderStatus from,
+            @Param("to") BookingReminderStatus to,
+            @Param("now") LocalDateTime now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE BookingReminder r
+        SET r.status = com.bookmyshow.entity.BookingReminderStatus.SENT, r.callSid = :callSid, r.processedAt = :now
+        WHERE r.id = :id
+    """)
+    int markSent(
+            @Param("id") Long id,
+            @Param("callSid") String callSid,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Upcoming bookings that have no reminder yet (bookings confirmed before reminders were stored)
+     */
+    @Query("""
+        SELECT b FROM Booking b
+        JOIN FETCH b.show s
+        WHERE b.status = :status AND s.showTime > :now
+        AND NOT EXISTS (SELECT r.id FROM BookingReminder r WHERE r.booking = b)
+    """)
+    List<Booking> findUpcomingWithoutReminder(
+            @Param("status") BookingStatus status,
+            @Param("now") LocalDateTime now
+    );
+}
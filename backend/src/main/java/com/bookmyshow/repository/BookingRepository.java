@@ -1,29 +1,24 @@
 package com.bookmyshow.repository;
 
 import com.bookmyshow.entity.Booking;
-import com.bookmyshow.entity.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     /**
-     * Find confirmed bookings with show times in the future
-     * Eagerly fetch show, movie, and theatre relationships
+     * Find a booking with its show, movie and theatre loaded, for use outside a transaction
      */
     @Query("SELECT b FROM Booking b " +
            "JOIN FETCH b.show s " +
            "JOIN FETCH s.movie m " +
            "JOIN FETCH s.theatre t " +
-           "WHERE b.status = :status AND s.showTime > :now " +
-           "ORDER BY s.showTime ASC")
-    List<Booking> findConfirmedUpcomingBookings(@Param("status") BookingStatus status, 
-                                                 @Param("now") LocalDateTime now);
+           "WHERE b.id = :id")
+    Optional<Booking> findByIdWithShowDetails(@Param("id") Long id);
 }
 
@@ -0,0 +1,45 @@
+package com.bookmyshow.repository;
+
+import com.bookmyshow.entity.NotificationOutbox;
+import com.bookmyshow.entity.NotificationOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Query("""
+        SELECT o FROM NotificationOutbox o
+        WHERE o.status = :status AND o.nextAttemptAt <= :now
+        ORDER BY o.nextAttemptAt ASC
+    """)
+    List<NotificationOutbox> findDue(
+            @Param("status") NotificationOutboxStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /**
+     * Claim a due row by pushing its next attempt out to the lease end. Only one
+     * poller (or instance) can win the claim; a crashed worker's claim lapses with the lease.
+     */
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutbox o
+        SET o.nextAttemptAt = :leaseUntil
+        WHERE o.id = :id AND o.status = com.bookmyshow.entity.NotificationOutboxStatus.PENDING
+        AND o.nextAttemptAt = :expected
+    """)
+    int claim(
+            @Param("id") Long id,
+            @Param("expected") LocalDateTime expected,
+            @Param("leaseUntil") LocalDateTime leaseUntil
+    );
+}
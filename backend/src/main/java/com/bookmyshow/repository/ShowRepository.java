@@ -1,11 +1,14 @@
 package com.bookmyshow.repository;
 
+import com.bookmyshow.dto.ShowSummaryResponse;
 import com.bookmyshow.entity.Show;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,5 +18,33 @@ public interface ShowRepository extends JpaRepository<Show, Long> {
     
     @Query("SELECT s FROM Show s JOIN FETCH s.movie JOIN FETCH s.theatre WHERE s.theatre.city = :city")
     List<Show> findByTheatreCity(@Param("city") String city);
+
+    // Atomic check-and-decrement; 0 rows updated means not enough seats were left
+    @Modifying
+    @Query("""
+        UPDATE Show s
+        SET s.availableSeats = s.availableSeats - :seats
+        WHERE s.id = :showId AND s.availableSeats >= :seats
+    """)
+    int takeAvailableSeats(@Param("showId") Long showId, @Param("seats") int seats);
+
+    // Atomic decrement for seats already won elsewhere; never goes below zero
+    @Modifying
+    @Query("""
+        UPDATE Show s
+        SET s.availableSeats = CASE WHEN s.availableSeats >= :seats THEN s.availableSeats - :seats ELSE 0 END
+        WHERE s.id = :showId
+    """)
+    int decrementAvailableSeats(@Param("showId") Long showId, @Param("seats") int seats);
+
+    @Query("""
+        SELECT new com.bookmyshow.dto.ShowSummaryResponse(
+            s.id, s.showTime, s.availableSeats, m.id, m.name, m.language, t.id, t.name, t.city)
+        FROM Show s
+        JOIN s.movie m
+        JOIN s.theatre t
+        WHERE s.showTime >= :from
+    """)
+    List<ShowSummaryResponse> findUpcomingSummaries(@Param("from") LocalDateTime from);
 }
 
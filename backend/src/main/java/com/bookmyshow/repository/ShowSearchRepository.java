@@ -0,0 +1,85 @@
+package com.bookmyshow.repository;
+
+import com.bookmyshow.dto.ShowSummaryResponse;
+import com.bookmyshow.entity.Movie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Show search read model: projects matching shows into {@link ShowSummaryResponse} rows
+ * and pages through them by (show_time, id).
+ *
+ * Only the filters that are set become part of the query, so each combination can use
+ * its own index (see the indexes on {@code shows}, {@code theatres} and {@code movies}).
+ * Keyset paging seeks past the last row of the previous page instead of counting
+ * offset rows, so every page costs the same however deep the client pages.
+ */
+@Repository
+public class ShowSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param afterShowTime show time of the last row of the previous page, or {@code null} for the first page
+     * @param afterId ID of the last row of the previous page; used together with {@code afterShowTime}
+     */
+    public List<ShowSummaryResponse> search(
+            LocalDateTime from,
+            LocalDateTime to,
+            String city,
+            Movie.Language language,
+            Long movieId,
+            LocalDateTime afterShowTime,
+            Long afterId,
+            int limit
+    ) {
+        StringBuilder jpql = new StringBuilder("""
+            SELECT new com.bookmyshow.dto.ShowSummaryResponse(
+                s.id, s.showTime, s.availableSeats, m.id, m.name, m.language, t.id, t.name, t.city)
+            FROM Show s
+            JOIN s.movie m
+            JOIN s.theatre t
+            WHERE 1 = 1
+        """);
+        Map<String, Object> params = new HashMap<>();
+
+        if (from != null) {
+            jpql.append(" AND s.showTime >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND s.showTime < :to");
+            params.put("to", to);
+        }
+        if (city != null) {
+            jpql.append(" AND t.city = :city");
+            params.put("city", city);
+        }
+        if (language != null) {
+            jpql.append(" AND m.language = :language");
+            params.put("language", language);
+        }
+        if (movieId != null) {
+            jpql.append(" AND m.id = :movieId");
+            params.put("movieId", movieId);
+        }
+        if (afterShowTime != null) {
+            jpql.append(" AND (s.showTime > :afterShowTime OR (s.showTime = :afterShowTime AND s.id > :afterId))");
+            params.put("afterShowTime", afterShowTime);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY s.showTime ASC, s.id ASC");
+
+        TypedQuery<ShowSummaryResponse> query = entityManager.createQuery(jpql.toString(), ShowSummaryResponse.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
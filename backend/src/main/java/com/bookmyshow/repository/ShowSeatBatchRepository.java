@@ -0,0 +1,237 @@
+package com.bookmyshow.repository;
+
+import com.bookmyshow.entity.ShowSeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for show_seats, used where per-entity JPA saves are too slow.
+ *
+ * Every write bumps the row's version, so optimistic writers notice any change.
+ *
+ * Conditional updates, whose row counts decide who got a seat, run one statement at a
+ * time rather than as a JDBC batch: in a batch a driver may report
+ * {@link Statement#SUCCESS_NO_INFO} (MySQL Connector/J does with rewriteBatchedStatements),
+ * and an update that matched no row would be indistinguishable from one that did.
+ */
+@Repository
+public class ShowSeatBatchRepository {
+
+    private static final String UPDATE_STATE_SQL = """
+        UPDATE show_seats
+        SET status = ?, held_by_user_id = ?, hold_expires_at = ?, updated_at = ?, version = version + 1
+        WHERE id = ? AND status <> 'BOOKED'
+    """;
+
+    // Skips seats the show already has, so provisioning the same show twice is harmless
+    private static final String PROVISION_SQL = """
+        INSERT INTO show_seats (show_id, seat_id, status, updated_at, version)
+        SELECT ?, s.id, 'AVAILABLE', ?, 0
+        FROM seats s
+        WHERE s.theatre_id = ? AND s.is_active = TRUE
+        AND NOT EXISTS (
+            SELECT 1 FROM show_seats ss WHERE ss.show_id = ? AND ss.seat_id = s.id
+        )
+    """;
+
+    private static final String SELECT_VERSIONS_SQL = """
+        SELECT id, version FROM show_seats WHERE id IN (:ids)
+    """;
+
+    // Available, or held with an expired hold, and unchanged since it was read
+    private static final String HOLD_IF_UNCHANGED_SQL = """
+        UPDATE show_seats
+        SET status = 'HELD', held_by_user_id = ?, hold_expires_at = ?, updated_at = ?, version = version + 1
+        WHERE id = ? AND version = ?
+        AND (status = 'AVAILABLE' OR (status = 'HELD' AND hold_expires_at <= ?))
+    """;
+
+    private static final String RELEASE_IF_HELD_BY_SQL = """
+        UPDATE show_seats
+        SET status = 'AVAILABLE', held_by_user_id = NULL, hold_expires_at = NULL, updated_at = ?, version = version + 1
+        WHERE id = ? AND status = 'HELD' AND held_by_user_id = ? AND hold_expires_at > ?
+    """;
+
+    private static final String BOOK_IF_HELD_BY_SQL = """
+        UPDATE show_seats
+        SET status = 'BOOKED', held_by_user_id = NULL, hold_expires_at = NULL, updated_at = ?, version = version + 1
+        WHERE id = ? AND status = 'HELD' AND held_by_user_id = ? AND hold_expires_at > ?
+    """;
+
+    private static final String BOOK_SQL = """
+        UPDATE show_seats
+        SET status = 'BOOKED', held_by_user_id = NULL, hold_expires_at = NULL, updated_at = ?, version = version + 1
+        WHERE id = ? AND status <> 'BOOKED'
+    """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Create AVAILABLE show seats for every active seat of the theatre in a single
+     * INSERT ... SELECT, instead of one identity insert per row.
+     *
+     * @return the number of show seats created
+     */
+    public int insertShowSeats(Long showId, Long theatreId) {
+        return jdbcTemplate.update(PROVISION_SQL,
+                showId, Timestamp.valueOf(LocalDateTime.now()), theatreId, showId);
+    }
+
+    /**
+     * Write seat states by primary key in one batch. Rows already BOOKED are never
+     * overwritten, so a late write cannot undo a confirmed booking.
+     */
+    public void updateStates(List<SeatStateRow> rows) {
+        if (rows.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_STATE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getStatus().name());
+            ps.setString(2, row.getHeldByUserId());
+            ps.setTimestamp(3, row.getHoldExpiresAt() != null ? Timestamp.valueOf(row.getHoldExpiresAt()) : null);
+            ps.setTimestamp(4, now);
+            ps.setLong(5, row.getShowSeatId());
+        });
+    }
+
+    /**
+     * @return the current version of each show seat, in the order of {@code showSeatIds};
+     *         {@code null} for rows that do not exist
+     */
+    public Long[] findVersions(long[] showSeatIds) {
+        List<Long> ids = new ArrayList<>(showSeatIds.length);
+        for (long id : showSeatIds) {
+            ids.add(id);
+        }
+        Map<Long, Long> versions = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_VERSIONS_SQL, new MapSqlParameterSource("ids", ids),
+                rs -> { versions.put(rs.getLong("id"), rs.getLong("version")); });
+        Long[] result = new Long[showSeatIds.length];
+        for (int i = 0; i < showSeatIds.length; i++) {
+            result[i] = versions.get(showSeatIds[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Hold each seat only if it is still at the version read and can be held.
+     *
+     * @return rows updated per seat; 0 means the seat changed or is taken
+     */
+    public int[] holdIfUnchanged(long[] showSeatIds, Long[] versions, String userId,
+                                 LocalDateTime holdExpiresAt, LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        Timestamp expiresAt = Timestamp.valueOf(holdExpiresAt);
+        return updateEach(HOLD_IF_UNCHANGED_SQL, showSeatIds.length, (ps, i) -> {
+            ps.setString(1, userId);
+            ps.setTimestamp(2, expiresAt);
+            ps.setTimestamp(3, updatedAt);
+            ps.setLong(4, showSeatIds[i]);
+            ps.setLong(5, versions[i]);
+            ps.setTimestamp(6, updatedAt);
+        });
+    }
+
+    /**
+     * Release each seat only if it is currently held (unexpired) by the user.
+     *
+     * @return rows updated per seat; 0 means the seat is not held by the user
+     */
+    public int[] releaseIfHeldBy(long[] showSeatIds, String userId, LocalDateTime now) {
+        return updateIfHeldBy(RELEASE_IF_HELD_BY_SQL, showSeatIds, userId, now);
+    }
+
+    /**
+     * Book each seat only if it is currently held (unexpired) by the user.
+     *
+     * @return rows updated per seat; 0 means the seat is not held by the user
+     */
+    public int[] bookIfHeldBy(long[] showSeatIds, String userId, LocalDateTime now) {
+        return updateIfHeldBy(BOOK_IF_HELD_BY_SQL, showSeatIds, userId, now);
+    }
+
+    /**
+     * Book seats whose hold was already checked elsewhere (the hold may not be written yet).
+     *
+     * @return rows updated per seat; 0 means the seat was already booked
+     */
+    public int[] book(long[] showSeatIds, LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        return updateEach(BOOK_SQL, showSeatIds.length, (ps, i) -> {
+            ps.setTimestamp(1, updatedAt);
+            ps.setLong(2, showSeatIds[i]);
+        });
+    }
+
+    private int[] updateIfHeldBy(String sql, long[] showSeatIds, String userId, LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        return updateEach(sql, showSeatIds.length, (ps, i) -> {
+            ps.setTimestamp(1, updatedAt);
+            ps.setLong(2, showSeatIds[i]);
+            ps.setString(3, userId);
+            ps.setTimestamp(4, updatedAt);
+        });
+    }
+
+    // One statement per row, so every count is exact (see the class comment)
+    private int[] updateEach(String sql, int size, IndexedStatementSetter setter) {
+        int[] counts = new int[size];
+        for (int i = 0; i < size; i++) {
+            int row = i;
+            counts[i] = jdbcTemplate.update(sql, ps -> setter.setValues(ps, row));
+        }
+        return counts;
+    }
+
+    @FunctionalInterface
+    private interface IndexedStatementSetter {
+        void setValues(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    public static class SeatStateRow {
+        private final long showSeatId;
+        private final ShowSeatStatus status;
+        private final String heldByUserId;
+        private final LocalDateTime holdExpiresAt;
+
+        public SeatStateRow(long showSeatId, ShowSeatStatus status, String heldByUserId, LocalDateTime holdExpiresAt) {
+            this.showSeatId = showSeatId;
+            this.status = status;
+            this.heldByUserId = heldByUserId;
+            this.holdExpiresAt = holdExpiresAt;
+        }
+
+        public long getShowSeatId() {
+            return showSeatId;
+        }
+
+        public ShowSeatStatus getStatus() {
+            return status;
+        }
+
+        public String getHeldByUserId() {
+            return heldByUserId;
+        }
+
+        public LocalDateTime getHoldExpiresAt() {
+            return holdExpiresAt;
+        }
+    }
+}
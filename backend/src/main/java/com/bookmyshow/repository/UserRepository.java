@@ -2,7 +2,11 @@ package com.bookmyshow.repository;
 
 import com.bookmyshow.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -12,5 +16,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByMobileNumber(String mobileNumber);
     boolean existsByEmail(String email);
     boolean existsByMobileNumber(String mobileNumber);
+
+    // Only replaces the hash that was verified, so a concurrent password change wins
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id AND u.password = :previous")
+    int updatePasswordHash(@Param("id") Long id, @Param("previous") String previous, @Param("password") String password);
 }
 
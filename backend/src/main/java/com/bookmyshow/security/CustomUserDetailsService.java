@@ -10,6 +10,9 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
+    // Every user has the same role; also carried in the token's roles claim
+    public static final String USER_ROLE = "ROLE_USER";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -21,7 +24,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
-                .authorities("ROLE_USER")
+                .authorities(USER_ROLE)
                 .build();
     }
 }
@@ -1,20 +1,33 @@
 package com.bookmyshow.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a Bearer token.
+ *
+ * A token is parsed and its principal resolved once; later requests with the same token are
+ * answered from {@link VerifiedTokenCache} without parsing or touching the database.
+ * The principal is loaded from {@code users} or, with {@code security.jwt.mode=stateless},
+ * built from the token's claims. Tokens on the {@link TokenDenyList} are rejected either way.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
@@ -23,27 +36,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
+    @Value("${security.jwt.mode:lookup}")
+    private TokenMode mode;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(jwt, this::verify);
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("JWT token validation failed", e);
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (verified != null && !tokenDenyList.isRevoked(verified.getTokenId())) {
+                UserDetails userDetails = verified.getPrincipal();
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -54,5 +67,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-}
 
+    // Single parse: signature, expiry and subject; null if the token cannot be used
+    private VerifiedTokenCache.VerifiedToken verify(String jwt) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("JWT token validation failed", e);
+            return null;
+        }
+
+        if (mode == TokenMode.STATELESS) {
+            TokenPrincipal principal = TokenPrincipal.fromClaims(claims);
+            if (principal != null) {
+                return new VerifiedTokenCache.VerifiedToken(principal, claims.getId(), claims.getExpiration());
+            }
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            logger.warn("JWT subject no longer exists: " + claims.getSubject());
+            return null;
+        }
+        // Cached, so keep no password hash around
+        if (userDetails instanceof CredentialsContainer credentials) {
+            credentials.eraseCredentials();
+        }
+        return new VerifiedTokenCache.VerifiedToken(userDetails, claims.getId(), claims.getExpiration());
+    }
+}
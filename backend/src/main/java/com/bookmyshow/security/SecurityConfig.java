@@ -1,6 +1,7 @@
 package com.bookmyshow.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,9 +28,18 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Raising the strength rehashes each user's password at their next login
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // Actuator endpoints are only open on the separate, non-public management port;
+    // served on the main port (no management.server.port) they need authentication
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -46,7 +56,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/movies/**").permitAll()
                         .requestMatchers("/api/shows/**").permitAll()
+                        .requestMatchers("/api/seat-layouts/**").permitAll()
                         .requestMatchers("/api/theatres/**").permitAll()
+                        .requestMatchers("/livez", "/readyz").permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,113 @@
+package com.bookmyshow.security;
+
+import com.bookmyshow.entity.RevokedToken;
+import com.bookmyshow.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deny-list of revoked token IDs ({@code jti}), reloaded from {@code revoked_tokens}.
+ *
+ * A Bloom filter answers the common case (token not revoked) without touching the exact
+ * set; only a filter hit is confirmed against the set. A revocation is visible on the
+ * node that made it at once and on other nodes after their next refresh
+ * ({@code security.jwt.deny-list.refresh-ms}). Rows are dropped once their token expires.
+ */
+@Service
+public class TokenDenyList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenyList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Room for revocations made between refreshes without raising the false positive rate much
+    private static final int MIN_CAPACITY = 1024;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Snapshot snapshot = new Snapshot(MIN_CAPACITY);
+
+    // Revocations made on this node, by time of revocation, until a refresh has loaded them
+    private final Map<String, Long> localRevocations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("auth.deny_list.size", this, list -> list.snapshot.tokenIds.size())
+                .description("Revoked, unexpired tokens held in the deny-list")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(tokenId) && current.tokenIds.contains(tokenId);
+    }
+
+    /**
+     * Record the token as revoked until it expires.
+     */
+    public void revoke(String tokenId, Long userId, LocalDateTime expiresAt) {
+        if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+            try {
+                revokedTokenRepository.save(new RevokedToken(tokenId, userId, expiresAt));
+            } catch (DataIntegrityViolationException e) {
+                // Revoked concurrently
+            }
+        }
+        localRevocations.put(tokenId, System.nanoTime());
+        snapshot.add(tokenId);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${security.jwt.deny-list.refresh-ms:10000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        try {
+            revokedTokenRepository.deleteExpired(now);
+            List<String> tokenIds = revokedTokenRepository.findActiveTokenIds(now);
+            Snapshot next = new Snapshot(Math.max(MIN_CAPACITY, tokenIds.size() * 2));
+            tokenIds.forEach(next::add);
+            // Revoked here while the query ran; older local revocations were saved before it started
+            localRevocations.keySet().forEach(next::add);
+            snapshot = next;
+            localRevocations.values().removeIf(revokedAt -> revokedAt - started < 0);
+        } catch (Exception e) {
+            logger.error("Failed to refresh token deny-list: {}", e.getMessage(), e);
+        }
+    }
+
+    private static class Snapshot {
+
+        private final BloomFilter bloom;
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+
+        Snapshot(int capacity) {
+            this.bloom = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        }
+
+        void add(String tokenId) {
+            // Set first: a reader that passes the filter must then find the ID
+            tokenIds.add(tokenId);
+            bloom.add(tokenId);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bookmyshow.security;
+
+/**
+ * How {@link JwtAuthenticationFilter} turns a verified token into a principal ({@code security.jwt.mode}).
+ */
+public enum TokenMode {
+
+    /**
+     * Load the user named by the token's subject (once per token, see {@link VerifiedTokenCache}).
+     */
+    LOOKUP,
+
+    /**
+     * Build the principal from the token's signed claims without loading the user.
+     * Tokens issued before the claims were added fall back to LOOKUP.
+     */
+    STATELESS
+}
@@ -0,0 +1,100 @@
+package com.bookmyshow.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated user as described by a self-contained token's signed claims,
+ * built without loading the user (see {@code security.jwt.mode=stateless}).
+ */
+public class TokenPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String email;
+    private final String name;
+    private final String mobileNumber;
+    private final List<GrantedAuthority> authorities;
+
+    public TokenPrincipal(Long userId, String email, String name, String mobileNumber, List<GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.email = email;
+        this.name = name;
+        this.mobileNumber = mobileNumber;
+        this.authorities = authorities;
+    }
+
+    /**
+     * @return the principal, or {@code null} if the token predates self-contained claims
+     */
+    static TokenPrincipal fromClaims(Claims claims) {
+        Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+        if (!(roles instanceof List<?> roleList) || claims.get("userId") == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roleList.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new TokenPrincipal(
+                ((Number) claims.get("userId")).longValue(),
+                claims.getSubject(),
+                claims.get(JwtUtil.NAME_CLAIM, String.class),
+                claims.get(JwtUtil.MOBILE_CLAIM, String.class),
+                authorities);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMobileNumber() {
+        return mobileNumber;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,123 @@
+package com.bookmyshow.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Tokens that already passed signature and expiry checks, with the principal they resolved to.
+ *
+ * Keyed by the SHA-256 of the token, so raw tokens are not kept in memory. An entry lives
+ * until the token expires or {@code security.jwt.token-cache.max-ttl-seconds} passes,
+ * whichever is first; the TTL bounds how long a changed or deleted user keeps its old
+ * principal. {@code security.jwt.token-cache.max-size=0} disables the cache.
+ * Hits and misses are published as cache.gets{cache="jwt-tokens"}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${security.jwt.token-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.jwt.token-cache.max-ttl-seconds:300}")
+    private long maxTtlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    public void start() {
+        if (maxSize <= 0) {
+            return;
+        }
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(token.getExpiresAtMillis() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-tokens");
+    }
+
+    /**
+     * The cached verification of the token, or the result of {@code verifier} (not cached if null).
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        VerifiedToken verified = cache.get(hash(token), key -> verifier.apply(token));
+        // The cache expires entries at token expiry; this covers the last moments before eviction
+        return verified != null && verified.getExpiresAtMillis() > System.currentTimeMillis() ? verified : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class VerifiedToken {
+
+        private final UserDetails principal;
+        private final String tokenId;
+        private final long expiresAtMillis;
+
+        public VerifiedToken(UserDetails principal, String tokenId, Date expiresAt) {
+            this.principal = principal;
+            this.tokenId = tokenId;
+            this.expiresAtMillis = expiresAt.getTime();
+        }
+
+        public UserDetails getPrincipal() {
+            return principal;
+        }
+
+        /**
+         * @return the token's {@code jti}, or {@code null} for tokens issued without one
+         */
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+}
@@ -6,25 +6,38 @@ import com.bookmyshow.dto.SignupRequest;
 import com.bookmyshow.entity.User;
 import com.bookmyshow.repository.UserRepository;
 import com.bookmyshow.security.JwtUtil;
+import com.bookmyshow.security.TokenDenyList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.regex.Pattern;
 
+/**
+ * Signup, login and logout. Not transactional as a whole: password hashing takes far
+ * longer than the queries around it and must not hold a database connection.
+ */
 @Service
-@Transactional
 public class AuthService {
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
     private static final Pattern MOBILE_PATTERN = Pattern.compile("^[0-9]{10}$");
 
@@ -49,12 +62,12 @@ public class AuthService {
         user.setName(request.getName());
         user.setEmail(request.getEmail().toLowerCase().trim());
         user.setMobileNumber(request.getMobileNumber());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
 
         user = userRepository.save(user);
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
+        String token = jwtUtil.generateToken(user);
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getMobileNumber());
     }
@@ -75,16 +88,51 @@ public class AuthService {
         }
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid email or password");
         }
+        rehashIfOutdated(user, request.getPassword());
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
+        String token = jwtUtil.generateToken(user);
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getMobileNumber());
     }
 
+    // The password was just verified, so it can be re-encoded at the current BCrypt strength
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String rehashed = passwordHashingService.encode(rawPassword);
+            if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), rehashed) > 0) {
+                user.setPassword(rehashed);
+                logger.info("Rehashed password for user {} at the current strength", user.getId());
+            }
+        } catch (RuntimeException e) {
+            // The login itself succeeded; try again next time
+            logger.warn("Could not rehash password for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    // Revoke the token on every instance (within the deny-list refresh interval)
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid token");
+        }
+        if (claims.getId() == null) {
+            throw new RuntimeException("Token cannot be revoked; it expires at " + claims.getExpiration());
+        }
+        Object userId = claims.get("userId");
+        tokenDenyList.revoke(claims.getId(),
+                userId instanceof Number ? ((Number) userId).longValue() : null,
+                LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+    }
+
     public User getUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
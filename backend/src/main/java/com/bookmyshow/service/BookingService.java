@@ -1,15 +1,26 @@
 package com.bookmyshow.service;
 
+import com.bookmyshow.dto.BatchConfirmRequest;
+import com.bookmyshow.dto.BatchConfirmResponse;
 import com.bookmyshow.dto.ConfirmBookingRequest;
 import com.bookmyshow.dto.ConfirmBookingResponse;
+import com.bookmyshow.dto.SeatStatusDelta;
+import com.bookmyshow.dto.ShowSeatSelection;
 import com.bookmyshow.entity.*;
 import com.bookmyshow.exception.BookingException;
-import com.bookmyshow.notification.NotificationDispatcher;
+import com.bookmyshow.inventory.OptimisticSeatHoldService;
+import com.bookmyshow.inventory.SeatHoldMode;
+import com.bookmyshow.inventory.SeatInventoryService;
+import com.bookmyshow.inventory.SeatTransition;
+import com.bookmyshow.inventory.ShowSeatInventory;
+import com.bookmyshow.metrics.BookingMetrics;
 import com.bookmyshow.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -25,9 +36,6 @@ public class BookingService {
     @Autowired
     private ShowRepository showRepository;
 
-    @Autowired
-    private ShowSeatRepository showSeatRepository;
-
     @Autowired
     private SeatRepository seatRepository;
 
@@ -35,7 +43,28 @@ public class BookingService {
     private BookingSeatRepository bookingSeatRepository;
 
     @Autowired
-    private NotificationDispatcher notificationDispatcher;
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private ShowSeatBatchRepository showSeatBatchRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private OptimisticSeatHoldService optimisticSeatHoldService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private ReminderCallScheduler reminderCallScheduler;
+
+    @Autowired
+    private NowShowingIndex nowShowingIndex;
 
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
@@ -54,12 +83,11 @@ public class BookingService {
         Show show = showRepository.findById(showId)
                 .orElseThrow(() -> new BookingException("Show not found with id: " + showId));
 
-        if (show.getAvailableSeats() < seatsBooked) {
+        // Checked and decremented in one statement, so concurrent bookings cannot oversell
+        if (showRepository.takeAvailableSeats(showId, seatsBooked) == 0) {
             throw new BookingException("Not enough seats available");
         }
-
-        show.setAvailableSeats(show.getAvailableSeats() - seatsBooked);
-        showRepository.save(show);
+        nowShowingIndex.adjustAvailableSeatsAfterCommit(showId, -seatsBooked);
 
         Booking booking = new Booking(show, seatsBooked, userName);
         booking.setStatus(BookingStatus.PENDING);
@@ -69,6 +97,83 @@ public class BookingService {
 
     @Transactional
     public ConfirmBookingResponse confirmBooking(ConfirmBookingRequest request) {
+        return bookingMetrics.timeConfirm(() -> {
+            ConfirmBookingResponse confirmed = confirm(request);
+            decrementAvailableSeats(confirmed);
+            return confirmed;
+        });
+    }
+
+    /**
+     * Confirm held seats in several shows in one transaction. Shows are confirmed in
+     * ascending ID order, so concurrent batches lock show_seats and shows rows in the
+     * same order and cannot deadlock. The shows rows are only updated once every show is
+     * confirmed, so they stay locked for the end of the batch rather than all of it.
+     * The first failure rolls back every booking of the batch.
+     */
+    @Transactional
+    public BatchConfirmResponse confirmBookings(BatchConfirmRequest request) {
+        if (request == null || request.getBookings() == null || request.getBookings().isEmpty()) {
+            throw new BookingException("At least one show is required");
+        }
+        List<ShowSeatSelection> selections = SeatHoldService.sortedByShow(request.getBookings());
+
+        List<BatchConfirmResponse.Result> results = new ArrayList<>();
+        List<ConfirmBookingResponse> confirmations = new ArrayList<>();
+        for (int i = 0; i < selections.size(); i++) {
+            ShowSeatSelection selection = selections.get(i);
+            ConfirmBookingRequest showRequest = new ConfirmBookingRequest();
+            showRequest.setShowId(selection.getShowId());
+            showRequest.setSeatIds(selection.getSeatIds());
+            showRequest.setUserId(request.getUserId());
+            showRequest.setEmail(request.getEmail());
+            showRequest.setPhoneNumber(request.getPhoneNumber());
+            showRequest.setPaymentRef(request.getPaymentRef());
+            showRequest.setPaymentMethod(request.getPaymentMethod());
+            try {
+                ConfirmBookingResponse confirmed = bookingMetrics.timeConfirm(() -> confirm(showRequest));
+                confirmations.add(confirmed);
+                results.add(new BatchConfirmResponse.Result(selection.getShowId(), confirmed.getBookingId(),
+                        selection.getSeatIds(), confirmed.getStatus(), null));
+            } catch (BookingException e) {
+                // Roll back the whole batch, but still answer with the per-show outcome
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                for (BatchConfirmResponse.Result result : results) {
+                    result.setBookingId(null);
+                    result.setStatus("ROLLED_BACK");
+                }
+                results.add(new BatchConfirmResponse.Result(selection.getShowId(), null,
+                        selection.getSeatIds(), "FAILED", e.getMessage()));
+                for (ShowSeatSelection skipped : selections.subList(i + 1, selections.size())) {
+                    results.add(new BatchConfirmResponse.Result(skipped.getShowId(), null,
+                            skipped.getSeatIds(), "NOT_ATTEMPTED", null));
+                }
+                return new BatchConfirmResponse(false, results);
+            }
+        }
+        // Still in ascending show ID order
+        for (ConfirmBookingResponse confirmed : confirmations) {
+            decrementAvailableSeats(confirmed);
+        }
+        return new BatchConfirmResponse(true, results);
+    }
+
+    /**
+     * Take the confirmed seats off the show's available count. Callers run this as the last
+     * statement of the transaction: the shows row is locked only until commit, and the
+     * decrement is atomic, so concurrent confirmations do not lose updates.
+     */
+    private void decrementAvailableSeats(ConfirmBookingResponse confirmed) {
+        int seats = confirmed.getSeatIds().size();
+        showRepository.decrementAvailableSeats(confirmed.getShowId(), seats);
+        nowShowingIndex.adjustAvailableSeatsAfterCommit(confirmed.getShowId(), -seats);
+    }
+
+    /**
+     * Book the seats of one show. The show's available seat count is left to the caller,
+     * see {@link #decrementAvailableSeats}.
+     */
+    private ConfirmBookingResponse confirm(ConfirmBookingRequest request) {
 
         if (request == null || request.getShowId() == null) {
             throw new BookingException("Show ID is required");
@@ -83,34 +188,23 @@ public class BookingService {
         Show show = showRepository.findById(request.getShowId())
                 .orElseThrow(() -> new BookingException("Show not found with id: " + request.getShowId()));
 
-        ensureShowSeats(show);
-
-        List<ShowSeat> showSeats =
-                showSeatRepository.findByShowIdAndSeatIdInForUpdate(
-                        request.getShowId(), request.getSeatIds());
-
-        if (showSeats.size() != request.getSeatIds().size()) {
+        // Move the user's held seats to BOOKED in memory; undone if this transaction rolls back
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        int[] positions = inventory.positionsOf(request.getSeatIds());
+        if (positions == null) {
             throw new BookingException("Invalid seat ids for this show");
         }
 
-        // CRITICAL: Validate that all seats belong to the correct show
-        for (ShowSeat ss : showSeats) {
-            if (!ss.getShow().getId().equals(request.getShowId())) {
-                throw new BookingException("Seat does not belong to the specified show");
-            }
-        }
-
         LocalDateTime now = LocalDateTime.now();
-        for (ShowSeat ss : showSeats) {
-            boolean expired = ss.getHoldExpiresAt() == null || ss.getHoldExpiresAt().isBefore(now);
-            boolean notHeldByUser =
-                    ss.getHeldByUserId() == null ||
-                            !ss.getHeldByUserId().equals(request.getUserId());
-
-            if (ss.getStatus() != ShowSeatStatus.HELD || expired || notHeldByUser) {
-                throw new BookingException("Seats must be held by current user before confirmation");
-            }
+        SeatHoldMode mode = seatInventoryService.getHoldMode();
+        boolean optimistic = mode == SeatHoldMode.OPTIMISTIC;
+        SeatTransition transition = bookingMetrics.timeArbitration(mode.name().toLowerCase(), () -> optimistic
+                ? optimisticSeatHoldService.book(inventory, positions, request.getUserId(), now)
+                : inventory.book(positions, request.getUserId(), now));
+        if (!transition.isApplied()) {
+            throw new BookingException("Seats must be held by current user before confirmation");
         }
+        seatInventoryService.revertOnRollback(inventory, transition);
 
         Booking booking = new Booking(show, request.getSeatIds().size(), request.getUserId());
         booking.setUserId(request.getUserId());
@@ -119,9 +213,10 @@ public class BookingService {
         booking.setBookingTime(LocalDateTime.now());
         Booking savedBooking = bookingRepository.save(booking);
 
+        // Seat IDs were validated against the layout, so references avoid loading the seats
         List<BookingSeat> bookingSeats = new ArrayList<>();
-        for (ShowSeat ss : showSeats) {
-            bookingSeats.add(new BookingSeat(savedBooking, show, ss.getSeat()));
+        for (Long seatId : request.getSeatIds()) {
+            bookingSeats.add(new BookingSeat(savedBooking, show, seatRepository.getReferenceById(seatId)));
         }
 
         try {
@@ -130,24 +225,32 @@ public class BookingService {
             throw new BookingException("One or more seats already booked");
         }
 
-        for (ShowSeat ss : showSeats) {
-            ss.setStatus(ShowSeatStatus.BOOKED);
-            ss.setHeldByUserId(null);
-            ss.setHoldExpiresAt(null);
+        // Optimistic mode already wrote BOOKED when it checked the hold. Otherwise write it
+        // by primary key; the hold may not be flushed yet, so only an existing booking conflicts.
+        if (!optimistic) {
+            long[] showSeatIds = new long[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                showSeatIds[i] = inventory.showSeatIdAt(positions[i]);
+            }
+            for (int count : showSeatBatchRepository.book(showSeatIds, now)) {
+                if (count != 1) {
+                    throw new BookingException("One or more seats already booked");
+                }
+            }
         }
-        showSeatRepository.saveAll(showSeats);
 
-        int remaining =
-                Math.max(show.getAvailableSeats() - request.getSeatIds().size(), 0);
-        show.setAvailableSeats(remaining);
-        showRepository.save(show);
+        // Delivered to seat map subscribers once the booking commits
+        eventPublisher.publishEvent(new SeatStatusDelta(show.getId(), transition.getVersion(), SeatStatusDelta.Type.BOOKED,
+                ShowSeatStatus.BOOKED.name(), inventory.seatIdsOf(transition), null));
+
+        reminderCallScheduler.scheduleReminder(savedBooking);
 
-        notificationDispatcher.sendBookingConfirmation(
-                savedBooking,
-                showSeats,
+        // Sent by NotificationOutboxWorker after commit; rolled back together with the booking
+        notificationOutboxRepository.save(new NotificationOutbox(
+                savedBooking.getId(),
                 request.getEmail(),
                 request.getPhoneNumber()
-        );
+        ));
 
         return new ConfirmBookingResponse(
                 savedBooking.getId(),
@@ -156,21 +259,4 @@ public class BookingService {
                 savedBooking.getStatus().name()
         );
     }
-
-    private void ensureShowSeats(Show show) {
-        List<ShowSeat> existing = showSeatRepository.findByShowId(show.getId());
-        if (!existing.isEmpty()) return;
-
-        List<Seat> seats =
-                seatRepository.findByTheatreIdAndIsActiveTrueOrderByRowLabelAscSeatNumberAsc(
-                        show.getTheatre().getId());
-
-        if (seats.isEmpty()) return;
-
-        List<ShowSeat> toCreate = new ArrayList<>();
-        for (Seat seat : seats) {
-            toCreate.add(new ShowSeat(show, seat, ShowSeatStatus.AVAILABLE));
-        }
-        showSeatRepository.saveAll(toCreate);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.bookmyshow.service;
+
+/**
+ * Names of the catalog caches (configured with {@code spring.cache.caffeine.spec}).
+ *
+ * Listings are cached by their filters and evicted as a whole when a movie, theatre
+ * or show is saved. Available seat counts of upcoming shows in show listings are taken
+ * from the {@link NowShowingIndex} on the way out, so bookings need not evict them.
+ */
+public final class CatalogCaches {
+
+    public static final String MOVIES = "movies";
+    public static final String MOVIE = "movie";
+    public static final String THEATRES = "theatres";
+    public static final String SHOWS = "shows";
+    public static final String SHOW_SEARCH = "show-search";
+
+    private CatalogCaches() {
+    }
+}
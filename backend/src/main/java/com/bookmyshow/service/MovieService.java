@@ -3,6 +3,8 @@ package com.bookmyshow.service;
 import com.bookmyshow.entity.Movie;
 import com.bookmyshow.repository.MovieRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,18 +15,24 @@ public class MovieService {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Cacheable(cacheNames = CatalogCaches.MOVIES, key = "'all'")
     public List<Movie> getAllMovies() {
         return movieRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CatalogCaches.MOVIES, key = "#language")
     public List<Movie> getMoviesByLanguage(Movie.Language language) {
         return movieRepository.findByLanguage(language);
     }
 
+    @Cacheable(cacheNames = CatalogCaches.MOVIE, key = "#id")
     public Optional<Movie> getMovieById(Long id) {
         return movieRepository.findById(id);
     }
 
+    // Show listings carry the movie too
+    @CacheEvict(cacheNames = {CatalogCaches.MOVIES, CatalogCaches.MOVIE, CatalogCaches.SHOWS, CatalogCaches.SHOW_SEARCH},
+            allEntries = true)
     public Movie saveMovie(Movie movie) {
         return movieRepository.save(movie);
     }
@@ -0,0 +1,274 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.dto.ShowSummaryResponse;
+import com.bookmyshow.entity.Movie;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.repository.ShowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Upcoming shows held in memory, by city, then movie, then (show time, id).
+ *
+ * Built from the database once the application is ready and kept up to date after
+ * shows are saved and bookings change their available seats. Shows that have started
+ * are pruned every minute. Lookups seek into sorted maps, so a day's show times for a
+ * movie in a city cost O(log n) no matter how many shows exist.
+ *
+ * Only shows starting at or after {@link #getHorizon()} are held; callers fall back to
+ * the database for anything earlier.
+ */
+@Service
+public class NowShowingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NowShowingIndex.class);
+
+    private static final Comparator<ShowSummaryResponse> SHOW_ORDER =
+            Comparator.comparing(ShowSummaryResponse::getShowTime).thenComparing(ShowSummaryResponse::getId);
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    private final Map<String, Map<Long, NavigableMap<ShowKey, ShowSummaryResponse>>> showsByCity =
+            new ConcurrentHashMap<>();
+    private final Map<Long, ShowSummaryResponse> showsById = new ConcurrentHashMap<>();
+
+    // Null until the index is built
+    private volatile LocalDateTime horizon;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ShowSummaryResponse> upcoming = showRepository.findUpcomingSummaries(now);
+        for (ShowSummaryResponse show : upcoming) {
+            put(show);
+        }
+        horizon = now;
+        logger.info("Now showing index built with {} upcoming show(s) in {} city(ies)",
+                upcoming.size(), showsByCity.size());
+    }
+
+    /**
+     * True if every show starting at or after {@code from} is in the index.
+     */
+    public boolean covers(LocalDateTime from) {
+        LocalDateTime current = horizon;
+        return current != null && from != null && !from.isBefore(current);
+    }
+
+    public LocalDateTime getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Shows in the city in (show time, id) order, with the same filters and keyset
+     * paging as {@link com.bookmyshow.repository.ShowSearchRepository#search}.
+     * {@code from} must be {@linkplain #covers covered}.
+     */
+    public List<ShowSummaryResponse> search(
+            String city,
+            Long movieId,
+            Movie.Language language,
+            LocalDateTime from,
+            LocalDateTime to,
+            LocalDateTime afterShowTime,
+            Long afterId,
+            int limit
+    ) {
+        Map<Long, NavigableMap<ShowKey, ShowSummaryResponse>> movies = showsByCity.get(city);
+        if (movies == null) {
+            return List.of();
+        }
+        ShowKey start = new ShowKey(from, Long.MIN_VALUE);
+        if (afterShowTime != null) {
+            ShowKey after = new ShowKey(afterShowTime, afterId);
+            if (after.compareTo(start) >= 0) {
+                start = after;
+            }
+        }
+        boolean inclusive = afterShowTime == null;
+
+        List<ShowSummaryResponse> result = new ArrayList<>();
+        if (movieId != null) {
+            NavigableMap<ShowKey, ShowSummaryResponse> shows = movies.get(movieId);
+            if (shows != null) {
+                collect(shows, start, inclusive, to, language, limit, result);
+            }
+            return result;
+        }
+        // Up to limit rows from each movie, merged
+        for (NavigableMap<ShowKey, ShowSummaryResponse> shows : movies.values()) {
+            collect(shows, start, inclusive, to, language, limit, result);
+        }
+        result.sort(SHOW_ORDER);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Available seat count of the show, or {@code null} if it is not in the index.
+     */
+    public Integer getAvailableSeats(Long showId) {
+        ShowSummaryResponse show = showsById.get(showId);
+        return show != null ? show.getAvailableSeats() : null;
+    }
+
+    /**
+     * IDs of the movies with an upcoming show in the city.
+     */
+    public Set<Long> getMovieIds(String city) {
+        Map<Long, NavigableMap<ShowKey, ShowSummaryResponse>> movies = showsByCity.get(city);
+        return movies != null ? Set.copyOf(movies.keySet()) : Set.of();
+    }
+
+    /**
+     * Add or move the show once the current transaction commits.
+     */
+    public void indexAfterCommit(Show show) {
+        ShowSummaryResponse summary = new ShowSummaryResponse(
+                show.getId(), show.getShowTime(), show.getAvailableSeats(),
+                show.getMovie().getId(), show.getMovie().getName(), show.getMovie().getLanguage(),
+                show.getTheatre().getId(), show.getTheatre().getName(), show.getTheatre().getCity());
+        afterCommit(() -> put(summary));
+    }
+
+    /**
+     * Change the show's available seat count by {@code delta} once the current transaction
+     * commits. Deltas rather than values, so concurrent bookings apply in any order.
+     */
+    public void adjustAvailableSeatsAfterCommit(Long showId, int delta) {
+        afterCommit(() -> adjustAvailableSeats(showId, delta));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void prunePastShows() {
+        if (horizon == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int pruned = 0;
+        for (ShowSummaryResponse show : showsById.values()) {
+            if (show.getShowTime().isBefore(now) && remove(show.getId())) {
+                pruned++;
+            }
+        }
+        horizon = now;
+        if (pruned > 0) {
+            logger.debug("Pruned {} started show(s) from the now showing index", pruned);
+        }
+    }
+
+    private static void collect(NavigableMap<ShowKey, ShowSummaryResponse> shows, ShowKey start, boolean inclusive,
+                                LocalDateTime to, Movie.Language language, int limit,
+                                List<ShowSummaryResponse> result) {
+        int added = 0;
+        for (ShowSummaryResponse show : shows.tailMap(start, inclusive).values()) {
+            if (to != null && !show.getShowTime().isBefore(to)) {
+                break;
+            }
+            if (language != null && show.getLanguage() != language) {
+                continue;
+            }
+            result.add(show);
+            if (++added == limit) {
+                break;
+            }
+        }
+    }
+
+    private synchronized void put(ShowSummaryResponse show) {
+        remove(show.getId());
+        LocalDateTime current = horizon;
+        if (current != null && show.getShowTime().isBefore(current)) {
+            return;
+        }
+        showsByCity.computeIfAbsent(show.getCity(), city -> new ConcurrentHashMap<>())
+                .computeIfAbsent(show.getMovieId(), movie -> new ConcurrentSkipListMap<>())
+                .put(new ShowKey(show.getShowTime(), show.getId()), show);
+        showsById.put(show.getId(), show);
+    }
+
+    private synchronized void adjustAvailableSeats(Long showId, int delta) {
+        ShowSummaryResponse show = showsById.get(showId);
+        if (show == null) {
+            return;
+        }
+        int availableSeats = Math.max(show.getAvailableSeats() + delta, 0);
+        // Entries are shared with readers, so replace rather than modify
+        put(new ShowSummaryResponse(show.getId(), show.getShowTime(), availableSeats, show.getMovieId(),
+                show.getMovieName(), show.getLanguage(), show.getTheatreId(), show.getTheatreName(), show.getCity()));
+    }
+
+    private synchronized boolean remove(Long showId) {
+        ShowSummaryResponse show = showsById.remove(showId);
+        if (show == null) {
+            return false;
+        }
+        Map<Long, NavigableMap<ShowKey, ShowSummaryResponse>> movies = showsByCity.get(show.getCity());
+        NavigableMap<ShowKey, ShowSummaryResponse> shows = movies.get(show.getMovieId());
+        shows.remove(new ShowKey(show.getShowTime(), show.getId()));
+        if (shows.isEmpty()) {
+            movies.remove(show.getMovieId());
+            if (movies.isEmpty()) {
+                showsByCity.remove(show.getCity());
+            }
+        }
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class ShowKey implements Comparable<ShowKey> {
+
+        private final LocalDateTime showTime;
+        private final long id;
+
+        private ShowKey(LocalDateTime showTime, long id) {
+            this.showTime = showTime;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ShowKey other) {
+            int byTime = showTime.compareTo(other.showTime);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ShowKey other && showTime.equals(other.showTime) && id == other.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return showTime.hashCode() * 31 + Long.hashCode(id);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.exception.ServiceBusyException;
+import com.bookmyshow.metrics.BookingMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing (BCrypt, deliberately slow) on a small dedicated pool.
+ *
+ * Login and signup storms would otherwise occupy every servlet thread with hashing and
+ * stall seat map and hold traffic. The pool and its queue are bounded: when the queue is
+ * full, or a hash is not done within {@code security.password.timeout-ms}, the caller gets
+ * a {@link ServiceBusyException} (503 with Retry-After) straight away.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    // 0 means one per CPU: hashing is CPU-bound
+    @Value("${security.password.workers:0}")
+    private int workers;
+
+    @Value("${security.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${security.password.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        bookingMetrics.registerPasswordHashQueue(executor);
+        logger.info("Password hashing on {} thread(s), queue capacity {}", threads, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * @return true if the hash was made with a lower cost than the encoder's current one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(String operation, Callable<T> hashing) {
+        Timer.Sample queued = bookingMetrics.startTimer();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                bookingMetrics.recordPasswordHashWait(queued);
+                Timer.Sample hashed = bookingMetrics.startTimer();
+                try {
+                    return hashing.call();
+                } finally {
+                    bookingMetrics.recordPasswordHash(hashed, operation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bookingMetrics.recordPasswordHashRejected("queue-full");
+            throw new ServiceBusyException("Too many sign-in requests, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            bookingMetrics.recordPasswordHashRejected("timeout");
+            throw new ServiceBusyException("Too many sign-in requests, please retry shortly", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
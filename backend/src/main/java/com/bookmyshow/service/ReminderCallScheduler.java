@@ -1,28 +1,45 @@
 package com.bookmyshow.service;
 
 import com.bookmyshow.entity.Booking;
+import com.bookmyshow.entity.BookingReminder;
+import com.bookmyshow.entity.BookingReminderStatus;
 import com.bookmyshow.entity.BookingStatus;
-import com.bookmyshow.repository.BookingRepository;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.reminder.ReminderCallDispatcher;
+import com.bookmyshow.repository.BookingReminderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Scheduled service to send reminder calls before show time
- * 
+ *
+ * A {@link BookingReminder} row is written when a booking is confirmed. Every check reads
+ * the PENDING reminders due by the end of the current window, so each check only touches
+ * the reminders that are due. A reminder is claimed (PENDING to CALLING) before its call
+ * is placed, so restarts and several instances never call a booking twice; a call cut
+ * short by a crash is not retried.
+ *
+ * This class only selects and claims reminders; {@link ReminderCallDispatcher} places
+ * the calls in parallel and records the outcome.
+ *
  * Configuration:
- * - REMINDER_OFFSET_MINUTES: Time before show to send reminder (default: 30 minutes)
+ * - REMINDER_OFFSET_MINUTES: Time before show to send reminder (default: 20 minutes)
  * - CHECK_INTERVAL: How often to check for upcoming reminders (default: every 1 minute)
- * - REMINDER_WINDOW_MINUTES: Time window to trigger reminder (default: 1 minute tolerance)
+ * - REMINDER_WINDOW_MINUTES: How far ahead of remind_at a reminder may be sent (default: 1 minute)
  */
 @Service
 public class ReminderCallScheduler {
@@ -36,123 +53,237 @@ public class ReminderCallScheduler {
     // Time window to trigger reminder (in minutes) - allows for slight timing differences
     private static final int REMINDER_WINDOW_MINUTES = 1;
 
+    // Reminders are called late (a rush beyond the provider's rate, or no instance running)
+    // until this long before the show; after that they are skipped and counted as late
+    private static final int MIN_LEAD_MINUTES = 5;
+
+    // Reminders read per query; a busy minute is read in several pages
+    private static final int REMINDER_PAGE_SIZE = 200;
+    private static final int MAX_PAGES_PER_CHECK = 50;
+
     @Autowired
-    private BookingRepository bookingRepository;
+    private BookingReminderRepository bookingReminderRepository;
 
     @Autowired
-    private CallService callService;
+    private ReminderCallDispatcher reminderCallDispatcher;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    // Bookings this instance has handled, with their show time; evicted once the show has started
+    private final Map<Long, LocalDateTime> remindedBookings = new ConcurrentHashMap<>();
 
-    // Track bookings that have already received reminder calls to avoid duplicates
-    private final Set<Long> remindedBookings = ConcurrentHashMap.newKeySet();
+    private enum Selection { DISPATCHED, SKIPPED, LATE, QUEUE_FULL }
+
+    /**
+     * Schedule the reminder call for a booking being confirmed. Called in the booking's
+     * transaction; nothing is scheduled when the reminder time has already passed.
+     */
+    public void scheduleReminder(Booking booking) {
+        LocalDateTime remindAt = reminderTimeOf(booking);
+        if (remindAt.isAfter(LocalDateTime.now())) {
+            bookingReminderRepository.save(new BookingReminder(booking, remindAt));
+        }
+    }
+
+    // Bookings confirmed before reminders were stored get their reminder on startup
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = bookingReminderRepository.findUpcomingWithoutReminder(BookingStatus.CONFIRMED, now);
+        List<BookingReminder> reminders = new ArrayList<>();
+        for (Booking booking : bookings) {
+            LocalDateTime remindAt = reminderTimeOf(booking);
+            if (remindAt.isAfter(now)) {
+                reminders.add(new BookingReminder(booking, remindAt));
+            }
+        }
+        if (!reminders.isEmpty()) {
+            bookingReminderRepository.saveAll(reminders);
+            logger.info("Scheduled reminders for {} existing booking(s)", reminders.size());
+        }
+    }
 
     /**
      * Scheduled task that runs every minute to check for bookings needing reminder calls
      * Fixed delay of 60 seconds = 1 minute
      */
     @Scheduled(fixedDelay = 60000, initialDelay = 30000) // Start after 30 seconds, then every 1 minute
-    @Transactional
     public void checkAndSendReminderCalls() {
+        bookingMetrics.timeScheduledTask("reminder-calls", this::sendDueReminderCalls);
+    }
+
+    private void sendDueReminderCalls() {
         try {
             LocalDateTime now = LocalDateTime.now();
+            // Calls may go out up to REMINDER_WINDOW_MINUTES before the reminder time
+            LocalDateTime until = now.plusMinutes(REMINDER_WINDOW_MINUTES);
             
             logger.debug("🔍 Checking for reminder calls... (Current time: {}, Reminder offset: {} minutes)", 
                     now, REMINDER_OFFSET_MINUTES);
 
-            // Find all confirmed upcoming bookings
-            List<Booking> upcomingBookings = bookingRepository.findConfirmedUpcomingBookings(
-                    BookingStatus.CONFIRMED, now);
+            int remindersDispatched = 0;
+            int remindersSkipped = 0;
+            int remindersLate = 0;
+            int remindersChecked = 0;
+
+            // Pages follow the last reminder read (remind_at, id), so a reminder that stays
+            // PENDING is not read again by this check. Reminders handled elsewhere leave
+            // PENDING and drop out; those left when the dispatch queue is full wait for the next check.
+            List<BookingReminder> due;
+            BookingReminder last = null;
+            int pages = 0;
+            selection:
+            do {
+                due = last == null
+                        ? bookingReminderRepository.findDue(BookingReminderStatus.PENDING, until,
+                                PageRequest.of(0, REMINDER_PAGE_SIZE))
+                        : bookingReminderRepository.findDueAfter(BookingReminderStatus.PENDING, until,
+                                last.getRemindAt(), last.getId(), PageRequest.of(0, REMINDER_PAGE_SIZE));
+                for (BookingReminder reminder : due) {
+                    last = reminder;
+                    if (!reminderCallDispatcher.hasCapacity()) {
+                        break selection;
+                    }
+                    remindersChecked++;
+                    Selection selected = dispatchReminder(reminder, now);
+                    if (selected == Selection.DISPATCHED) {
+                        remindersDispatched++;
+                    } else if (selected == Selection.SKIPPED) {
+                        remindersSkipped++;
+                    } else if (selected == Selection.LATE) {
+                        remindersSkipped++;
+                        remindersLate++;
+                    } else {
+                        break selection;
+                    }
+                }
+            } while (due.size() == REMINDER_PAGE_SIZE && ++pages < MAX_PAGES_PER_CHECK);
 
-            if (upcomingBookings.isEmpty()) {
-                logger.debug("No upcoming bookings found for reminder calls");
+            if (remindersChecked == 0) {
+                logger.debug("No reminder calls due");
                 return;
             }
 
-            logger.info("📋 Found {} upcoming confirmed booking(s) to check for reminders", 
-                    upcomingBookings.size());
+            logger.info("📊 Reminder check complete - Dispatched: {}, Skipped: {}, Total checked: {}", 
+                    remindersDispatched, remindersSkipped, remindersChecked);
+            if (remindersLate > 0) {
+                double ratePerSecond = reminderCallDispatcher.getRatePerSecond();
+                logger.warn("⚠️ Skipped {} reminder(s) within {} minutes of show time; at {} call(s)/s at most {} "
+                                + "reminders per show start time can be called", remindersLate, MIN_LEAD_MINUTES,
+                        ratePerSecond, (long) (ratePerSecond * 60 * (REMINDER_OFFSET_MINUTES - MIN_LEAD_MINUTES)));
+            }
 
-            int remindersSent = 0;
-            int remindersSkipped = 0;
+        } catch (Exception e) {
+            logger.error("❌ Error in reminder call scheduler: {}", e.getMessage(), e);
+        }
+    }
 
-            for (Booking booking : upcomingBookings) {
-                try {
-                    LocalDateTime showTime = booking.getShow().getShowTime();
-                    
-                    // Calculate when reminder should be sent
-                    LocalDateTime reminderTime = showTime.minus(REMINDER_OFFSET_MINUTES, ChronoUnit.MINUTES);
-                    
-                    // Check if we're within the reminder window
-                    long minutesUntilReminder = ChronoUnit.MINUTES.between(now, reminderTime);
-                    
-                    // Check if reminder has already been sent for this booking
-                    if (remindedBookings.contains(booking.getId())) {
-                        logger.debug("⏭️ Skipping booking {} - reminder already sent", booking.getId());
-                        remindersSkipped++;
-                        continue;
-                    }
+    private Selection dispatchReminder(BookingReminder reminder, LocalDateTime now) {
+        Booking booking = reminder.getBooking();
+        try {
+            // Check if reminder has already been sent for this booking
+            if (remindedBookings.containsKey(booking.getId())) {
+                logger.debug("⏭️ Skipping booking {} - reminder already sent", booking.getId());
+                finish(reminder, BookingReminderStatus.PENDING, BookingReminderStatus.SKIPPED, now);
+                return Selection.SKIPPED;
+            }
 
-                    // Trigger reminder if we're within the window (0 to REMINDER_WINDOW_MINUTES before reminder time)
-                    if (minutesUntilReminder >= 0 && minutesUntilReminder <= REMINDER_WINDOW_MINUTES) {
-                        
-                        // Validate booking has required data
-                        if (!isValidBookingForReminder(booking)) {
-                            logger.warn("⚠️ Skipping booking {} - missing required data for reminder", booking.getId());
-                            remindersSkipped++;
-                            continue;
-                        }
+            String skipReason = skipReasonOf(reminder);
+            if (skipReason != null) {
+                logger.warn("⚠️ Skipping booking {} - {}", booking.getId(), skipReason);
+                finish(reminder, BookingReminderStatus.PENDING, BookingReminderStatus.SKIPPED, now);
+                return Selection.SKIPPED;
+            }
 
-                        // Get phone number from booking
-                        // Note: You may need to add phoneNumber field to Booking entity
-                        // For now, we'll use userId or extract from some other field
-                        String phoneNumber = extractPhoneNumber(booking);
-                        
-                        if (phoneNumber == null || phoneNumber.isEmpty()) {
-                            logger.warn("⚠️ Skipping booking {} - no phone number available", booking.getId());
-                            remindersSkipped++;
-                            continue;
-                        }
+            if (!now.isBefore(reminder.getShowTime().minusMinutes(MIN_LEAD_MINUTES))) {
+                logger.debug("⏭️ Skipping booking {} - show starts at {}", booking.getId(), reminder.getShowTime());
+                finish(reminder, BookingReminderStatus.PENDING, BookingReminderStatus.SKIPPED, now);
+                bookingMetrics.recordReminderCall("late");
+                return Selection.LATE;
+            }
 
-                        // Make the reminder call
-                        logger.info("📞 Sending reminder call for booking #{} - Show: {} at {}", 
-                                booking.getId(), 
-                                booking.getShow().getMovie().getName(),
-                                showTime);
-                        
-                        logger.info("⏰ Reminder timing - Show time: {}, Reminder time: {}, Current time: {}, Minutes until reminder: {}", 
-                                showTime, reminderTime, now, minutesUntilReminder);
-
-                        String callSid = callService.makeReminderCall(booking, phoneNumber);
-                        
-                        // Mark as reminded
-                        remindedBookings.add(booking.getId());
-                        remindersSent++;
-                        
-                        logger.info("✅ Reminder call sent successfully for booking #{} - Call SID: {}", 
-                                booking.getId(), callSid);
-
-                    } else if (minutesUntilReminder < 0) {
-                        // Reminder time has passed but call wasn't made - mark as processed to avoid retries
-                        if (!remindedBookings.contains(booking.getId())) {
-                            logger.debug("⏰ Reminder time passed for booking {} ({} minutes ago), marking as processed", 
-                                    booking.getId(), Math.abs(minutesUntilReminder));
-                            remindedBookings.add(booking.getId());
+            // Claim the reminder; another instance may have placed this call already
+            if (bookingReminderRepository.transition(reminder.getId(),
+                    BookingReminderStatus.PENDING, BookingReminderStatus.CALLING, now) == 0) {
+                logger.debug("⏭️ Skipping booking {} - reminder claimed elsewhere", booking.getId());
+                remindedBookings.put(booking.getId(), reminder.getShowTime());
+                return Selection.SKIPPED;
+            }
+
+            LocalDateTime showTime = booking.getShow().getShowTime();
+            logger.info("📞 Dispatching reminder call for booking #{} - Show: {} at {} (reminder time {})", 
+                    booking.getId(), 
+                    booking.getShow().getMovie().getName(),
+                    showTime,
+                    reminder.getRemindAt());
+
+            boolean queued = reminderCallDispatcher.dispatch(booking, extractPhoneNumber(booking), showTime,
+                    new ReminderCallDispatcher.ReminderCallListener() {
+                        @Override
+                        public void onSent(String callSid) {
+                            // Mark as reminded
+                            bookingReminderRepository.markSent(reminder.getId(), callSid, LocalDateTime.now());
+                            logger.info("✅ Reminder call sent successfully for booking #{} - Call SID: {}", 
+                                    booking.getId(), callSid);
                         }
-                    } else {
-                        logger.debug("⏳ Booking {} - reminder scheduled in {} minutes (Show: {})", 
-                                booking.getId(), minutesUntilReminder, showTime);
-                    }
 
-                } catch (Exception e) {
-                    logger.error("❌ Error processing reminder for booking {}: {}", 
-                            booking.getId(), e.getMessage(), e);
-                }
+                        @Override
+                        public void onFailed(Exception error) {
+                            bookingReminderRepository.transition(reminder.getId(),
+                                    BookingReminderStatus.CALLING, BookingReminderStatus.FAILED, LocalDateTime.now());
+                        }
+                    });
+            if (!queued) {
+                // Hand it back for the next check
+                bookingReminderRepository.transition(reminder.getId(),
+                        BookingReminderStatus.CALLING, BookingReminderStatus.PENDING, now);
+                return Selection.QUEUE_FULL;
             }
-
-            logger.info("📊 Reminder check complete - Sent: {}, Skipped: {}, Total checked: {}", 
-                    remindersSent, remindersSkipped, upcomingBookings.size());
+            remindedBookings.put(booking.getId(), reminder.getShowTime());
+            return Selection.DISPATCHED;
 
         } catch (Exception e) {
-            logger.error("❌ Error in reminder call scheduler: {}", e.getMessage(), e);
+            logger.error("❌ Error processing reminder for booking {}: {}", 
+                    booking.getId(), e.getMessage(), e);
+            // Not retried; a reminder already claimed stays CALLING
+            try {
+                bookingReminderRepository.transition(reminder.getId(),
+                        BookingReminderStatus.PENDING, BookingReminderStatus.FAILED, now);
+            } catch (Exception ignored) {
+                // Paging moves past it; the next check reads it again
+            }
+            return Selection.SKIPPED;
+        }
+    }
+
+    /**
+     * @return why the reminder should not be called, or {@code null} to call it
+     */
+    private String skipReasonOf(BookingReminder reminder) {
+        Booking booking = reminder.getBooking();
+        if (booking.getStatus() != BookingStatus.CONFIRMED) {
+            return "status " + booking.getStatus();
+        }
+        if (!isValidBookingForReminder(booking)) {
+            return "missing required data for reminder";
         }
+        String phoneNumber = extractPhoneNumber(booking);
+        if (phoneNumber == null || phoneNumber.isEmpty()) {
+            return "no phone number available";
+        }
+        return null;
+    }
+
+    private void finish(BookingReminder reminder, BookingReminderStatus from, BookingReminderStatus to,
+                        LocalDateTime now) {
+        bookingReminderRepository.transition(reminder.getId(), from, to, now);
+        remindedBookings.put(reminder.getBooking().getId(), reminder.getShowTime());
+    }
+
+    private static LocalDateTime reminderTimeOf(Booking booking) {
+        return booking.getShow().getShowTime().minus(REMINDER_OFFSET_MINUTES, ChronoUnit.MINUTES);
     }
 
     /**
@@ -222,19 +353,16 @@ public class ReminderCallScheduler {
     }
 
     /**
-     * Clean up old reminders from memory (optional - prevents memory growth)
-     * This can be called periodically to remove old booking IDs
+     * Forget handled bookings whose show has started; their reminders are no longer
+     * read, so the map only holds bookings for shows still to come.
      */
-    @Scheduled(cron = "0 0 2 * * ?") // Run daily at 2 AM
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000) // Every 10 minutes
     public void cleanupOldReminders() {
         int sizeBefore = remindedBookings.size();
-        
-        // Remove bookings older than 24 hours (this is a simple cleanup)
-        // In production, you might want more sophisticated cleanup
-        
-        logger.info("🧹 Cleaning up reminder tracking cache - Size before: {}", sizeBefore);
-        // For now, we keep all reminders to avoid duplicates
-        // You can implement more sophisticated cleanup if needed
+        LocalDateTime now = LocalDateTime.now();
+        remindedBookings.values().removeIf(showTime -> showTime.isBefore(now));
+        logger.debug("🧹 Cleaned up reminder tracking cache - Size before: {}, after: {}",
+                sizeBefore, remindedBookings.size());
     }
 
     /**
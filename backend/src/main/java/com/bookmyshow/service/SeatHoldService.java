@@ -1,24 +1,28 @@
 package com.bookmyshow.service;
 
+import com.bookmyshow.dto.BatchHoldRequest;
+import com.bookmyshow.dto.BatchHoldResponse;
 import com.bookmyshow.dto.HoldSeatsRequest;
 import com.bookmyshow.dto.HoldSeatsResponse;
 import com.bookmyshow.dto.ReleaseSeatsRequest;
 import com.bookmyshow.dto.ReleaseSeatsResponse;
+import com.bookmyshow.dto.SeatStatusDelta;
 import com.bookmyshow.dto.SeatStatusResponse;
-import com.bookmyshow.entity.Seat;
-import com.bookmyshow.entity.Show;
-import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.dto.ShowSeatSelection;
 import com.bookmyshow.entity.ShowSeatStatus;
 import com.bookmyshow.exception.BookingException;
 import com.bookmyshow.exception.SeatHoldConflictException;
-import com.bookmyshow.repository.SeatRepository;
-import com.bookmyshow.repository.ShowRepository;
-import com.bookmyshow.repository.ShowSeatRepository;
+import com.bookmyshow.inventory.OptimisticSeatHoldService;
+import com.bookmyshow.inventory.SeatHoldMode;
+import com.bookmyshow.inventory.SeatInventoryService;
+import com.bookmyshow.inventory.SeatTransition;
+import com.bookmyshow.inventory.ShowSeatInventory;
+import com.bookmyshow.metrics.BookingMetrics;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -32,16 +36,96 @@ public class SeatHoldService {
     private static final int MAX_HOLD_MINUTES = 10;
 
     @Autowired
-    private ShowRepository showRepository;
+    private SeatInventoryService seatInventoryService;
 
     @Autowired
-    private SeatRepository seatRepository;
+    private OptimisticSeatHoldService optimisticSeatHoldService;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
 
-    @Transactional
     public HoldSeatsResponse holdSeats(Long showId, HoldSeatsRequest request) {
+        return bookingMetrics.timeHold(() -> hold(showId, request));
+    }
+
+    /**
+     * Hold seats in several shows for one user. Shows are processed in ascending ID order
+     * (and seats within a show in layout order), so concurrent batches always claim seats
+     * in the same order. Each show succeeds or fails on its own unless allOrNothing is set.
+     */
+    public BatchHoldResponse holdSeatsBatch(BatchHoldRequest request) {
+        if (request == null || request.getShows() == null || request.getShows().isEmpty()) {
+            throw new BookingException("At least one show is required");
+        }
+        List<ShowSeatSelection> selections = sortedByShow(request.getShows());
+
+        List<BatchHoldResponse.Result> results = new ArrayList<>();
+        boolean failed = false;
+        for (ShowSeatSelection selection : selections) {
+            if (failed && request.isAllOrNothing()) {
+                results.add(new BatchHoldResponse.Result(selection.getShowId(), "NOT_ATTEMPTED", selection.getSeatIds(),
+                        null, null, null));
+                continue;
+            }
+            HoldSeatsRequest showRequest = new HoldSeatsRequest();
+            showRequest.setSeatIds(selection.getSeatIds());
+            showRequest.setHoldMinutes(request.getHoldMinutes());
+            showRequest.setUserId(request.getUserId());
+            try {
+                HoldSeatsResponse held = holdSeats(selection.getShowId(), showRequest);
+                results.add(new BatchHoldResponse.Result(selection.getShowId(), "HELD", selection.getSeatIds(),
+                        held.getHoldExpiresAt(), null, null));
+            } catch (SeatHoldConflictException e) {
+                failed = true;
+                results.add(new BatchHoldResponse.Result(selection.getShowId(), "CONFLICT", selection.getSeatIds(),
+                        null, e.getFailedSeatIds(), e.getMessage()));
+            } catch (BookingException e) {
+                failed = true;
+                results.add(new BatchHoldResponse.Result(selection.getShowId(), "REJECTED", selection.getSeatIds(),
+                        null, null, e.getMessage()));
+            }
+        }
+
+        if (failed && request.isAllOrNothing()) {
+            for (BatchHoldResponse.Result result : results) {
+                if ("HELD".equals(result.getStatus())) {
+                    ReleaseSeatsRequest release = new ReleaseSeatsRequest();
+                    release.setSeatIds(result.getSeatIds());
+                    release.setUserId(request.getUserId());
+                    try {
+                        releaseSeats(result.getShowId(), release);
+                    } catch (BookingException e) {
+                        // The hold already lapsed
+                    }
+                    result.setStatus("RELEASED");
+                    result.setHoldExpiresAt(null);
+                }
+            }
+        }
+        return new BatchHoldResponse(results);
+    }
+
+    // Sorted copy; a show may appear only once so its seats are claimed in one step
+    static List<ShowSeatSelection> sortedByShow(List<ShowSeatSelection> selections) {
+        List<ShowSeatSelection> sorted = new ArrayList<>(selections);
+        for (ShowSeatSelection selection : sorted) {
+            if (selection == null || selection.getShowId() == null) {
+                throw new BookingException("Show ID is required");
+            }
+        }
+        sorted.sort(Comparator.comparing(ShowSeatSelection::getShowId));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getShowId().equals(sorted.get(i - 1).getShowId())) {
+                throw new BookingException("Show " + sorted.get(i).getShowId() + " appears more than once");
+            }
+        }
+        return sorted;
+    }
+
+    private HoldSeatsResponse hold(Long showId, HoldSeatsRequest request) {
         if (request == null || request.getSeatIds() == null || request.getSeatIds().isEmpty()) {
             throw new BookingException("Seat IDs are required");
         }
@@ -54,56 +138,40 @@ public class SeatHoldService {
             throw new BookingException("Hold minutes must be between " + MIN_HOLD_MINUTES + " and " + MAX_HOLD_MINUTES);
         }
 
-        Show show = showRepository.findById(showId)
+        // Positions come from this show's inventory, so every seat belongs to the show. The show
+        // is only read from the database the first time, to load the inventory
+        ShowSeatInventory inventory = seatInventoryService.findInventory(showId)
                 .orElseThrow(() -> new BookingException("Show not found with id: " + showId));
-
-        ensureShowSeats(show);
-
-        List<ShowSeat> showSeats = showSeatRepository.findByShowIdAndSeatIdInForUpdate(showId, request.getSeatIds());
-        if (showSeats.size() != request.getSeatIds().size()) {
+        int[] positions = inventory.positionsOf(request.getSeatIds());
+        if (positions == null) {
             throw new BookingException("One or more seat IDs are invalid for this show");
         }
 
-        // CRITICAL: Validate that all seats belong to the correct show
-        for (ShowSeat ss : showSeats) {
-            if (!ss.getShow().getId().equals(showId)) {
-                throw new BookingException("Seat does not belong to the specified show");
-            }
-        }
-
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime holdExpiresAt = now.plusMinutes(holdMinutes);
 
-        List<Long> failedSeatIds = new ArrayList<>();
-        for (ShowSeat showSeat : showSeats) {
-            if (showSeat.getStatus() == ShowSeatStatus.BOOKED ||
-                    (showSeat.getStatus() == ShowSeatStatus.HELD && showSeat.getHoldExpiresAt().isAfter(now))) {
-                failedSeatIds.add(showSeat.getSeat().getId());
-            }
-        }
-
-        if (!failedSeatIds.isEmpty()) {
-            throw new SeatHoldConflictException("Some seats are no longer available", failedSeatIds);
-        }
-
-        // Hold seats
-        for (ShowSeat showSeat : showSeats) {
-            showSeat.setStatus(ShowSeatStatus.HELD);
-            showSeat.setHeldByUserId(request.getUserId());
-            showSeat.setHoldExpiresAt(holdExpiresAt);
+        // Hold seats (persisted to show_seats by the inventory write-behind)
+        SeatHoldMode mode = seatInventoryService.getHoldMode();
+        SeatTransition transition = bookingMetrics.timeArbitration(mode.name().toLowerCase(), () -> mode == SeatHoldMode.OPTIMISTIC
+                ? optimisticSeatHoldService.hold(inventory, positions, request.getUserId(), holdExpiresAt, now)
+                : inventory.hold(positions, request.getUserId(), holdExpiresAt, now));
+        if (!transition.isApplied()) {
+            throw new SeatHoldConflictException("Some seats are no longer available", transition.getFailedSeatIds());
         }
-        showSeatRepository.saveAll(showSeats);
+        seatInventoryService.scheduleExpiry(inventory, transition, holdExpiresAt);
+        eventPublisher.publishEvent(new SeatStatusDelta(showId, transition.getVersion(), SeatStatusDelta.Type.HELD,
+                ShowSeatStatus.HELD.name(), inventory.seatIdsOf(transition), holdExpiresAt));
 
         // Build response
+        Long remainingSeconds = Duration.between(now, holdExpiresAt).getSeconds();
         List<SeatStatusResponse> seatStatuses = new ArrayList<>();
-        for (ShowSeat showSeat : showSeats) {
-            Long remainingSeconds = Duration.between(now, holdExpiresAt).getSeconds();
+        for (int position : positions) {
             seatStatuses.add(new SeatStatusResponse(
-                    showSeat.getSeat().getId(),
-                    showSeat.getSeat().getRowLabel(),
-                    showSeat.getSeat().getSeatNumber(),
-                    showSeat.getSeat().getSeatType().name(),
-                    showSeat.getStatus().name(),
+                    inventory.seatIdAt(position),
+                    inventory.rowLabelAt(position),
+                    inventory.seatNumberAt(position),
+                    inventory.seatTypeAt(position).name(),
+                    ShowSeatStatus.HELD.name(),
                     true,
                     holdExpiresAt,
                     remainingSeconds
@@ -113,7 +181,6 @@ public class SeatHoldService {
         return new HoldSeatsResponse(showId, holdExpiresAt, seatStatuses);
     }
 
-    @Transactional
     public ReleaseSeatsResponse releaseSeats(Long showId, ReleaseSeatsRequest request) {
         if (request == null || request.getSeatIds() == null || request.getSeatIds().isEmpty()) {
             throw new BookingException("Seat IDs are required");
@@ -122,53 +189,31 @@ public class SeatHoldService {
             throw new BookingException("User ID is required to release seats");
         }
 
-        Show show = showRepository.findById(showId)
+        ShowSeatInventory inventory = seatInventoryService.findInventory(showId)
                 .orElseThrow(() -> new BookingException("Show not found with id: " + showId));
-
-        ensureShowSeats(show);
-
-        List<ShowSeat> showSeats = showSeatRepository.findByShowIdAndSeatIdInForUpdate(showId, request.getSeatIds());
-        if (showSeats.size() != request.getSeatIds().size()) {
+        int[] positions = inventory.positionsOf(request.getSeatIds());
+        if (positions == null) {
             throw new BookingException("One or more seat IDs are invalid for this show");
         }
 
-        // CRITICAL: Validate that all seats belong to the correct show
-        for (ShowSeat ss : showSeats) {
-            if (!ss.getShow().getId().equals(showId)) {
-                throw new BookingException("Seat does not belong to the specified show");
-            }
-        }
-
         LocalDateTime now = LocalDateTime.now();
-        List<Long> invalidSeatIds = new ArrayList<>();
-
-        for (ShowSeat showSeat : showSeats) {
-            boolean expired = showSeat.getHoldExpiresAt() != null && showSeat.getHoldExpiresAt().isBefore(now);
-            boolean notHeldByUser = !request.getUserId().equals(showSeat.getHeldByUserId());
-            if (showSeat.getStatus() != ShowSeatStatus.HELD || expired || notHeldByUser) {
-                invalidSeatIds.add(showSeat.getSeat().getId());
-            }
-        }
-
-        if (!invalidSeatIds.isEmpty()) {
-            throw new BookingException("Cannot release seats not held by the current user: " + invalidSeatIds);
-        }
-
-        for (ShowSeat showSeat : showSeats) {
-            showSeat.setStatus(ShowSeatStatus.AVAILABLE);
-            showSeat.setHeldByUserId(null);
-            showSeat.setHoldExpiresAt(null);
+        SeatTransition transition = seatInventoryService.getHoldMode() == SeatHoldMode.OPTIMISTIC
+                ? optimisticSeatHoldService.release(inventory, positions, request.getUserId(), now)
+                : inventory.release(positions, request.getUserId(), now);
+        if (!transition.isApplied()) {
+            throw new BookingException("Cannot release seats not held by the current user: " + transition.getFailedSeatIds());
         }
-        showSeatRepository.saveAll(showSeats);
+        eventPublisher.publishEvent(new SeatStatusDelta(showId, transition.getVersion(), SeatStatusDelta.Type.RELEASED,
+                ShowSeatStatus.AVAILABLE.name(), inventory.seatIdsOf(transition), null));
 
         List<SeatStatusResponse> seatStatuses = new ArrayList<>();
-        for (ShowSeat showSeat : showSeats) {
+        for (int position : positions) {
             seatStatuses.add(new SeatStatusResponse(
-                    showSeat.getSeat().getId(),
-                    showSeat.getSeat().getRowLabel(),
-                    showSeat.getSeat().getSeatNumber(),
-                    showSeat.getSeat().getSeatType().name(),
-                    showSeat.getStatus().name(),
+                    inventory.seatIdAt(position),
+                    inventory.rowLabelAt(position),
+                    inventory.seatNumberAt(position),
+                    inventory.seatTypeAt(position).name(),
+                    ShowSeatStatus.AVAILABLE.name(),
                     false,
                     null,
                     null
@@ -178,25 +223,12 @@ public class SeatHoldService {
         return new ReleaseSeatsResponse(showId, seatStatuses);
     }
 
-    // Scheduled task to clear expired holds every minute
-    @Scheduled(fixedDelay = 60000)
-    @Transactional
-    public void clearExpiredHolds() {
-        showSeatRepository.clearExpiredHolds(LocalDateTime.now());
-    }
-
-    // Ensure all seats exist as ShowSeats for the show
-    private void ensureShowSeats(Show show) {
-        List<ShowSeat> existing = showSeatRepository.findByShowId(show.getId());
-        if (!existing.isEmpty()) return;
-
-        List<Seat> seats = seatRepository.findByTheatreIdAndIsActiveTrueOrderByRowLabelAscSeatNumberAsc(show.getTheatre().getId());
-        if (seats.isEmpty()) return;
-
-        List<ShowSeat> toCreate = new ArrayList<>();
-        for (Seat seat : seats) {
-            toCreate.add(new ShowSeat(show, seat, ShowSeatStatus.AVAILABLE));
-        }
-        showSeatRepository.saveAll(toCreate);
+    // Expire holds that lapsed since the last tick (driven by the inventory's timing wheel)
+    @Scheduled(fixedRate = 1000)
+    public void expireHolds() {
+        bookingMetrics.timeScheduledTask("hold-expiry", () ->
+                seatInventoryService.expireDueHolds(LocalDateTime.now(), (inventory, expired) ->
+                        eventPublisher.publishEvent(new SeatStatusDelta(inventory.getShowId(), expired.getVersion(),
+                                SeatStatusDelta.Type.EXPIRED, ShowSeatStatus.AVAILABLE.name(), inventory.seatIdsOf(expired), null))));
     }
 }
@@ -0,0 +1,246 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.config.VirtualThreads;
+import com.bookmyshow.dto.SeatMapResponse;
+import com.bookmyshow.dto.SeatStatusDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat map changes to subscribers over Server-Sent Events.
+ *
+ * A subscriber first receives a "snapshot" event (the full seat map with its version),
+ * then a "seats" event for every {@link SeatStatusDelta}. Each delta is serialized once
+ * and queued for every subscriber of the show, so viewers no longer poll and rebuild
+ * the seat map themselves.
+ *
+ * Every subscriber has its own bounded queue, drained in order by one task at a time on
+ * a small shared pool ({@code seat.stream.workers}). A slow or half-open client therefore
+ * only holds up its own events. A subscriber whose queue overflows
+ * ({@code seat.stream.max-pending-events}), or whose send fails, is disconnected; the
+ * browser reconnects and starts again from a fresh snapshot.
+ *
+ * Deltas may arrive before the snapshot; clients should apply only deltas whose
+ * version is greater than the snapshot version.
+ */
+@Service
+public class SeatMapStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapStreamService.class);
+
+    // Clients reconnect (and get a fresh snapshot) when the stream times out
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${seat.stream.workers:4}")
+    private int workers;
+
+    @Value("${seat.stream.max-pending-events:256}")
+    private int maxPendingEvents;
+
+    @Value("${seat.stream.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<Long, Set<Subscriber>> subscribersByShow = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor fanOutExecutor;
+
+    @PostConstruct
+    public void start() {
+        // At most one queued drain per subscriber; when even that does not fit, the subscriber is dropped
+        fanOutExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), VirtualThreads.threadFactory("seat-map-stream-", virtualThreads));
+    }
+
+    public Optional<SseEmitter> subscribe(Long showId, String userId) {
+        Subscriber subscriber = new Subscriber(showId, new SseEmitter(EMITTER_TIMEOUT_MS));
+
+        // Register before building the snapshot so no delta in between is missed
+        subscribersByShow.compute(showId, (id, subscribers) -> {
+            Set<Subscriber> registered = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            registered.add(subscriber);
+            return registered;
+        });
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        Optional<SeatMapResponse> snapshot = seatMapService.getSeatMap(showId, userId);
+        if (snapshot.isEmpty()) {
+            remove(subscriber);
+            return Optional.empty();
+        }
+
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .name("snapshot")
+                    .id(String.valueOf(snapshot.get().getVersion()))
+                    .data(snapshot.get()));
+        } catch (IOException e) {
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+        return Optional.of(subscriber.emitter);
+    }
+
+    // After commit for booking confirmations; immediately for holds, releases and expiries
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStatusDelta(SeatStatusDelta delta) {
+        Set<Subscriber> subscribers = subscribersByShow.get(delta.getShowId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize seat delta for show {}: {}", delta.getShowId(), e.getMessage());
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .name("seats")
+                    .id(String.valueOf(delta.getVersion()))
+                    .data(json));
+        }
+    }
+
+    // Comment line keeps idle connections open through proxies and detects gone clients
+    @Scheduled(fixedRate = 25000)
+    public void sendHeartbeats() {
+        for (Set<Subscriber> subscribers : subscribersByShow.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int getSubscriberCount(Long showId) {
+        Set<Subscriber> subscribers = subscribersByShow.get(showId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+        subscribersByShow.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribersByShow.clear();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByShow.computeIfPresent(subscriber.showId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * One SSE connection and the events not yet sent to it.
+     */
+    private final class Subscriber {
+
+        private final Long showId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        // True while a drain task is queued or running; keeps this subscriber's events in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        Subscriber(Long showId, SseEmitter emitter) {
+            this.showId = showId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                drop("more than " + maxPendingEvents + " events pending", null);
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                fanOutExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                drop("fan-out queue full", null);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                drop(e.getMessage(), e);
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before draining was cleared
+            if (!dropped && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void drop(String reason, Exception cause) {
+            if (dropped) {
+                return;
+            }
+            dropped = true;
+            logger.debug("Dropping seat map subscriber for show {}: {}", showId, reason);
+            remove(this);
+            pending.clear();
+            if (cause != null) {
+                emitter.completeWithError(cause);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
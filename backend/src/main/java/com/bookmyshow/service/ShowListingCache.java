@@ -0,0 +1,57 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.dto.ShowSearchResponse;
+import com.bookmyshow.dto.ShowSummaryResponse;
+import com.bookmyshow.entity.Movie;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.repository.ShowRepository;
+import com.bookmyshow.repository.ShowSearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Show listings as read from the database, cached in {@link CatalogCaches#SHOWS} and
+ * {@link CatalogCaches#SHOW_SEARCH}.
+ *
+ * Available seat counts in these entries are only as fresh as the entry; {@link ShowService}
+ * replaces them with the {@link NowShowingIndex} counts before returning a listing.
+ */
+@Service
+public class ShowListingCache {
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private ShowSearchRepository showSearchRepository;
+
+    @Cacheable(cacheNames = CatalogCaches.SHOWS, key = "'all'")
+    public List<Show> getAllShows() {
+        return showRepository.findAll();
+    }
+
+    @Cacheable(cacheNames = CatalogCaches.SHOWS, key = "'movie:' + #movieId + ':' + #city")
+    public List<Show> getShowsByMovieIdAndCity(Long movieId, String city) {
+        return showRepository.findByMovieIdAndCity(movieId, city);
+    }
+
+    @Cacheable(cacheNames = CatalogCaches.SHOWS, key = "'city:' + #city")
+    public List<Show> getShowsByCity(String city) {
+        return showRepository.findByTheatreCity(city);
+    }
+
+    /**
+     * Up to {@code limit} rows from {@link ShowSearchRepository#search}.
+     */
+    @Cacheable(cacheNames = CatalogCaches.SHOW_SEARCH)
+    @Transactional(readOnly = true)
+    public List<ShowSummaryResponse> search(LocalDateTime from, LocalDateTime to, String city, Movie.Language language,
+                                            Long movieId, LocalDateTime afterShowTime, Long afterId, int limit) {
+        return List.copyOf(showSearchRepository.search(from, to, city, language, movieId, afterShowTime, afterId, limit));
+    }
+}
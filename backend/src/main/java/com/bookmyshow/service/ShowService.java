@@ -1,40 +1,172 @@
 package com.bookmyshow.service;
 
+import com.bookmyshow.dto.ShowSearchResponse;
+import com.bookmyshow.dto.ShowSummaryResponse;
+import com.bookmyshow.entity.Movie;
 import com.bookmyshow.entity.Show;
+import com.bookmyshow.exception.BookingException;
+import com.bookmyshow.inventory.ShowSeatProvisioningService;
 import com.bookmyshow.repository.ShowRepository;
+import com.bookmyshow.repository.ShowSearchRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ShowService {
+
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private ShowRepository showRepository;
 
+    @Autowired
+    private ShowSearchRepository showSearchRepository;
+
+    @Autowired
+    private ShowListingCache showListingCache;
+
+    @Autowired
+    private NowShowingIndex nowShowingIndex;
+
+    @Autowired
+    private ShowSeatProvisioningService showSeatProvisioningService;
+
     public List<Show> getAllShows() {
-        return showRepository.findAll();
+        return withCurrentAvailability(showListingCache.getAllShows());
     }
 
     public List<Show> getShowsByMovieIdAndCity(Long movieId, String city) {
-        return showRepository.findByMovieIdAndCity(movieId, city);
+        return withCurrentAvailability(showListingCache.getShowsByMovieIdAndCity(movieId, city));
     }
 
     public List<Show> getShowsByCity(String city) {
-        return showRepository.findByTheatreCity(city);
+        return withCurrentAvailability(showListingCache.getShowsByCity(city));
+    }
+
+    /**
+     * One page of shows matching the filters, ordered by show time then ID.
+     * Upcoming shows in a city are answered from the {@link NowShowingIndex}.
+     *
+     * @param upcoming only shows starting from now on the server clock; {@code from} is raised to it.
+     *                 Client clocks running behind would otherwise miss the index
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     */
+    @Transactional(readOnly = true)
+    public ShowSearchResponse searchShows(LocalDateTime from, LocalDateTime to, String city, Movie.Language language,
+                                          Long movieId, boolean upcoming, String cursor, Integer limit) {
+        if (upcoming) {
+            LocalDateTime now = LocalDateTime.now();
+            if (from == null || from.isBefore(now)) {
+                from = now;
+            }
+        }
+        int pageSize = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT);
+        LocalDateTime afterShowTime = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterShowTime = LocalDateTime.parse(position[0]);
+            afterId = Long.valueOf(position[1]);
+        }
+
+        // One extra row tells whether there is a next page
+        List<ShowSummaryResponse> rows;
+        if (city != null && nowShowingIndex.covers(from)) {
+            rows = nowShowingIndex.search(city, movieId, language, from, to, afterShowTime, afterId, pageSize + 1);
+        } else if (!upcoming && (city == null || from == null)) {
+            // Filters that repeat across requests; "now" and arbitrary city windows would only fill the cache
+            rows = withCurrentSeatCounts(
+                    showListingCache.search(from, to, city, language, movieId, afterShowTime, afterId, pageSize + 1));
+        } else {
+            rows = showSearchRepository.search(from, to, city, language, movieId, afterShowTime, afterId, pageSize + 1);
+        }
+        if (rows.size() <= pageSize) {
+            return new ShowSearchResponse(rows, null);
+        }
+        List<ShowSummaryResponse> page = rows.subList(0, pageSize);
+        ShowSummaryResponse last = page.get(pageSize - 1);
+        return new ShowSearchResponse(List.copyOf(page), encodeCursor(last.getShowTime(), last.getId()));
     }
 
     public Optional<Show> getShowById(Long id) {
         return showRepository.findById(id);
     }
 
+    // Materialize the show's seats together with the show
+    @CacheEvict(cacheNames = {CatalogCaches.SHOWS, CatalogCaches.SHOW_SEARCH}, allEntries = true)
+    @Transactional
     public Show saveShow(Show show) {
-        return showRepository.save(show);
+        Show saved = showRepository.saveAndFlush(show);
+        showSeatProvisioningService.provision(saved);
+        nowShowingIndex.indexAfterCommit(saved);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = {CatalogCaches.SHOWS, CatalogCaches.SHOW_SEARCH}, allEntries = true)
     public Show updateShow(Show show) {
-        return showRepository.save(show);
+        Show saved = showRepository.save(show);
+        nowShowingIndex.indexAfterCommit(saved);
+        return saved;
     }
-}
 
+    // Cached entries are shared, so shows whose count has changed are copied rather than modified
+    private List<Show> withCurrentAvailability(List<Show> shows) {
+        List<Show> result = new ArrayList<>(shows.size());
+        for (Show show : shows) {
+            Integer availableSeats = nowShowingIndex.getAvailableSeats(show.getId());
+            if (availableSeats == null || availableSeats.equals(show.getAvailableSeats())) {
+                result.add(show);
+                continue;
+            }
+            Show current = new Show(show.getMovie(), show.getTheatre(), show.getShowTime(), availableSeats);
+            current.setId(show.getId());
+            result.add(current);
+        }
+        return result;
+    }
+
+    private List<ShowSummaryResponse> withCurrentSeatCounts(List<ShowSummaryResponse> shows) {
+        List<ShowSummaryResponse> result = new ArrayList<>(shows.size());
+        for (ShowSummaryResponse show : shows) {
+            Integer availableSeats = nowShowingIndex.getAvailableSeats(show.getId());
+            if (availableSeats == null || availableSeats.equals(show.getAvailableSeats())) {
+                result.add(show);
+                continue;
+            }
+            result.add(new ShowSummaryResponse(show.getId(), show.getShowTime(), availableSeats, show.getMovieId(),
+                    show.getMovieName(), show.getLanguage(), show.getTheatreId(), show.getTheatreName(), show.getCity()));
+        }
+        return result;
+    }
+
+    // Opaque to clients: the (showTime, id) of the last row on the page
+    private static String encodeCursor(LocalDateTime showTime, Long id) {
+        String position = showTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new BookingException("Invalid cursor");
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BookingException("Invalid cursor");
+        }
+    }
+}
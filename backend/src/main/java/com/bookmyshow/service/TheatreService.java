@@ -3,6 +3,8 @@ package com.bookmyshow.service;
 import com.bookmyshow.entity.Theatre;
 import com.bookmyshow.repository.TheatreRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,10 +15,12 @@ public class TheatreService {
     @Autowired
     private TheatreRepository theatreRepository;
 
+    @Cacheable(cacheNames = CatalogCaches.THEATRES, key = "'all'")
     public List<Theatre> getAllTheatres() {
         return theatreRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CatalogCaches.THEATRES, key = "#city")
     public List<Theatre> getTheatresByCity(String city) {
         return theatreRepository.findByCity(city);
     }
@@ -25,6 +29,8 @@ public class TheatreService {
         return theatreRepository.findById(id);
     }
 
+    // Show listings carry the theatre too
+    @CacheEvict(cacheNames = {CatalogCaches.THEATRES, CatalogCaches.SHOWS, CatalogCaches.SHOW_SEARCH}, allEntries = true)
     public Theatre saveTheatre(Theatre theatre) {
         return theatreRepository.save(theatre);
     }
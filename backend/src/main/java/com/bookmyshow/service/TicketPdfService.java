@@ -2,35 +2,83 @@ package com.bookmyshow.service;
 
 import com.bookmyshow.entity.Booking;
 import com.bookmyshow.entity.ShowSeat;
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
+import com.bookmyshow.ticket.DirectTicketRenderer;
+import com.bookmyshow.ticket.HtmlTicketRenderer;
+import com.bookmyshow.ticket.TicketData;
+import com.bookmyshow.ticket.TicketRenderMode;
+import com.bookmyshow.ticket.TicketRenderer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Generates ticket PDFs on a small dedicated pool.
+ *
+ * The ticket values are copied out of the booking on the calling thread, then rendered
+ * by the {@link TicketRenderer} chosen with {@code ticket.pdf.renderer} (direct or html).
+ * With direct, tickets whose text the standard fonts cannot draw fall back to html.
+ * The pool and its queue are bounded, so a burst of confirmations waits for (or fails
+ * fast on) PDF rendering instead of piling CPU work onto every caller thread.
+ */
 @Service
 public class TicketPdfService {
 
     private static final Logger logger = LoggerFactory.getLogger(TicketPdfService.class);
 
-    public byte[] generateTicketPdf(Booking booking, List<ShowSeat> seats) {
-        try {
-            String html = generateTicketHtml(booking, seats);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    @Value("${ticket.pdf.renderer:direct}")
+    private TicketRenderMode renderMode;
+
+    @Value("${ticket.pdf.workers:2}")
+    private int workers;
+
+    @Value("${ticket.pdf.queue-capacity:100}")
+    private int queueCapacity;
 
-            // Configure converter properties with better error handling
-            ConverterProperties properties = new ConverterProperties();
-            // Add font provider if needed
-            // properties.setFontProvider(new DefaultFontProvider(true, true, true));
+    @Value("${ticket.pdf.timeout-ms:30000}")
+    private long timeoutMs;
+
+    private TicketRenderer renderer;
+    private TicketRenderer fallbackRenderer;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        fallbackRenderer = new HtmlTicketRenderer();
+        renderer = renderMode == TicketRenderMode.DIRECT ? new DirectTicketRenderer() : fallbackRenderer;
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "ticket-pdf-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        logger.info("Ticket PDFs rendered with the {} renderer on {} thread(s)", renderMode, workers);
+    }
 
-            HtmlConverter.convertToPdf(html, outputStream, properties);
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 
-            byte[] pdfBytes = outputStream.toByteArray();
+    public byte[] generateTicketPdf(Booking booking, List<ShowSeat> seats) {
+        TicketData ticket = TicketData.from(booking, seats);
+        TicketRenderer ticketRenderer = rendererFor(ticket);
+        try {
+            Future<byte[]> rendering = executor.submit(() -> ticketRenderer.render(ticket));
+            byte[] pdfBytes = rendering.get(timeoutMs, TimeUnit.MILLISECONDS);
             if (pdfBytes == null || pdfBytes.length == 0) {
                 logger.error("PDF generation produced empty output for booking {}", booking.getId());
                 throw new RuntimeException("PDF generation produced empty output");
@@ -38,197 +86,27 @@ public class TicketPdfService {
 
             logger.info("PDF generated successfully for booking {}, size: {} bytes", booking.getId(), pdfBytes.length);
             return pdfBytes;
-        } catch (Exception e) {
-            logger.error("Failed to generate PDF ticket for booking {}: {}", booking.getId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to generate PDF ticket: " + e.getMessage(), e);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Ticket PDF queue full, skipping PDF for booking {}", booking.getId());
+            throw new RuntimeException("Ticket PDF queue is full", e);
+        } catch (TimeoutException e) {
+            logger.error("Timed out generating PDF ticket for booking {}", booking.getId());
+            throw new RuntimeException("Timed out generating PDF ticket", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating PDF ticket", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            logger.error("Failed to generate PDF ticket for booking {}: {}", booking.getId(), cause.getMessage(), cause);
+            throw new RuntimeException("Failed to generate PDF ticket: " + cause.getMessage(), cause);
         }
     }
 
-    private String generateTicketHtml(Booking booking, List<ShowSeat> seats) {
-
-        String seatLabels = seats.stream()
-                .map(seat -> seat.getSeat().getRowLabel() + seat.getSeat().getSeatNumber())
-                .sorted()
-                .collect(Collectors.joining(", "));
-
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <style>
-                        body {
-                            font-family: Arial, sans-serif;
-                            margin: 0;
-                            padding: 20px;
-                            background: #f5f5f5;
-                        }
-                        .ticket {
-                            max-width: 600px;
-                            margin: 0 auto;
-                            background: white;
-                            border-radius: 12px;
-                            box-shadow: 0 4px 12px rgba(0,0,0,0.1);
-                            overflow: hidden;
-                        }
-                        .header {
-                            background: linear-gradient(135deg, #DF1827 0%%, #BE1C68 100%%);
-                            color: white;
-                            padding: 30px;
-                            text-align: center;
-                        }
-                        .header h1 {
-                            margin: 0;
-                            font-size: 32px;
-                            font-weight: bold;
-                        }
-                        .header p {
-                            margin: 10px 0 0 0;
-                            font-size: 16px;
-                            opacity: 0.9;
-                        }
-                        .content {
-                            padding: 30px;
-                        }
-                        .section {
-                            margin-bottom: 25px;
-                            padding-bottom: 25px;
-                            border-bottom: 1px solid #e9ecef;
-                        }
-                        .section:last-child {
-                            border-bottom: none;
-                        }
-                        .section-title {
-                            font-size: 12px;
-                            color: #6c757d;
-                            text-transform: uppercase;
-                            letter-spacing: 1px;
-                            margin-bottom: 10px;
-                            font-weight: 600;
-                        }
-                        .section-content {
-                            font-size: 18px;
-                            color: #1A1A1A;
-                            font-weight: 600;
-                        }
-                        .section-subtitle {
-                            font-size: 14px;
-                            color: #6c757d;
-                            margin-top: 5px;
-                        }
-                        .info-grid {
-                            display: table;
-                            width: 100%%;
-                        }
-                        .info-grid > div {
-                            display: table-cell;
-                            width: 50%%;
-                            padding-right: 20px;
-                            vertical-align: top;
-                        }
-                        .booking-id {
-                            background: #f8f9fa;
-                            padding: 15px;
-                            border-radius: 8px;
-                            text-align: center;
-                            margin-top: 20px;
-                        }
-                        .booking-id-label {
-                            font-size: 12px;
-                            color: #6c757d;
-                            margin-bottom: 5px;
-                        }
-                        .booking-id-value {
-                            font-size: 24px;
-                            font-weight: bold;
-                            color: #DF1827;
-                        }
-                        .footer {
-                            background: #f8f9fa;
-                            padding: 20px;
-                            text-align: center;
-                            font-size: 12px;
-                            color: #6c757d;
-                        }
-                        .qr-placeholder {
-                            width: 120px;
-                            height: 120px;
-                            background: #e9ecef;
-                            border: 2px dashed #6c757d;
-                            display: table-cell;
-                            text-align: center;
-                            vertical-align: middle;
-                            margin: 20px auto;
-                            border-radius: 8px;
-                            color: #6c757d;
-                            font-size: 12px;
-                        }
-                    </style>
-                </head>
-                <body>
-                    <div class="ticket">
-                        <div class="header">
-                            <h1>BOOKMYSHOW</h1>
-                            <p>Your Ticket</p>
-                        </div>
-                        <div class="content">
-                            <div class="section">
-                                <div class="section-title">Movie</div>
-                                <div class="section-content">%s</div>
-                                <div class="section-subtitle">%s • %s • %d min</div>
-                            </div>
-                            <div class="section">
-                                <div class="info-grid">
-                                    <div>
-                                        <div class="section-title">Theatre</div>
-                                        <div class="section-content">%s</div>
-                                        <div class="section-subtitle">%s</div>
-                                    </div>
-                                    <div>
-                                        <div class="section-title">Show Time</div>
-                                        <div class="section-content">%s</div>
-                                        <div class="section-subtitle">%s</div>
-                                    </div>
-                                </div>
-                            </div>
-                            <div class="section">
-                                <div class="section-title">Seats</div>
-                                <div class="section-content">%s</div>
-                            </div>
-                            <div class="section">
-                                <div class="section-title">Booked By</div>
-                                <div class="section-content">%s</div>
-                            </div>
-                            <div class="booking-id">
-                                <div class="booking-id-label">Booking ID</div>
-                                <div class="booking-id-value">#%d</div>
-                            </div>
-                            <div class="qr-placeholder">
-                                QR Code<br/>Booking ID: %d
-                            </div>
-                        </div>
-                        <div class="footer">
-                            <p><strong>Important:</strong> Please arrive 15 minutes before show time. Carry a valid ID proof.</p>
-                            <p>Tickets are non-refundable and non-transferable.</p>
-                        </div>
-                    </div>
-                </body>
-                </html>
-                """.formatted(
-                booking.getShow().getMovie().getName(),
-                booking.getShow().getMovie().getLanguage(),
-                booking.getShow().getMovie().getGenre(),
-                booking.getShow().getMovie().getDuration(),
-                booking.getShow().getTheatre().getName(),
-                booking.getShow().getTheatre().getCity(),
-                booking.getShow().getShowTime().format(timeFormatter),
-                booking.getShow().getShowTime().format(dateFormatter),
-                seatLabels,
-                booking.getUserName(),
-                booking.getId(),
-                booking.getId()
-        );
+    private TicketRenderer rendererFor(TicketData ticket) {
+        if (renderMode == TicketRenderMode.DIRECT && !DirectTicketRenderer.canRender(ticket)) {
+            logger.debug("Booking {} has text outside the standard fonts, using the html renderer", ticket.getBookingId());
+            return fallbackRenderer;
+        }
+        return renderer;
     }
 }
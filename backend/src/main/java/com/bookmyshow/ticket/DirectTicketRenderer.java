@@ -0,0 +1,143 @@
+package com.bookmyshow.ticket;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.DashedBorder;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+
+/**
+ * Lays the ticket out directly with iText, with the same sections and colours as the
+ * HTML template. There is no HTML parsing, CSS resolution or font discovery; the
+ * standard Helvetica fonts are used, so tickets with non-Latin text (see {@link #canRender})
+ * need the HTML renderer.
+ */
+public class DirectTicketRenderer implements TicketRenderer {
+
+    // The standard fonts only cover WinAnsiEncoding, i.e. windows-1252
+    private static final Charset STANDARD_FONT_CHARSET = Charset.forName("windows-1252");
+
+    private static final Color BRAND = new DeviceRgb(0xDF, 0x18, 0x27);
+    private static final Color TEXT = new DeviceRgb(0x1A, 0x1A, 0x1A);
+    private static final Color MUTED = new DeviceRgb(0x6C, 0x75, 0x7D);
+    private static final Color LIGHT = new DeviceRgb(0xF8, 0xF9, 0xFA);
+    private static final Color DIVIDER = new DeviceRgb(0xE9, 0xEC, 0xEF);
+
+    @Override
+    public byte[] render(TicketData ticket) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8 * 1024);
+        PdfFont regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+
+        try (Document document = new Document(new PdfDocument(new PdfWriter(outputStream)), PageSize.A4)) {
+            document.setMargins(20, 60, 20, 60);
+            document.setFont(regular);
+
+            Div header = new Div()
+                    .setBackgroundColor(BRAND)
+                    .setPadding(24)
+                    .setTextAlignment(TextAlignment.CENTER);
+            header.add(new Paragraph("BOOKMYSHOW").setFont(bold).setFontSize(28).setFontColor(ColorConstants.WHITE)
+                    .setMargin(0));
+            header.add(new Paragraph("Your Ticket").setFontSize(14).setFontColor(ColorConstants.WHITE)
+                    .setMarginTop(8).setMarginBottom(0));
+            document.add(header);
+
+            Div content = new Div().setPadding(20);
+            content.add(section(bold, "Movie", ticket.getMovieName(),
+                    ticket.getLanguage() + " • " + ticket.getGenre() + " • " + ticket.getDurationMinutes() + " min"));
+
+            Table details = new Table(UnitValue.createPercentArray(2)).useAllAvailableWidth();
+            details.addCell(cell(section(bold, "Theatre", ticket.getTheatreName(), ticket.getCity()).setBorder(Border.NO_BORDER)));
+            details.addCell(cell(section(bold, "Show Time", ticket.getFormattedShowTime(), ticket.getFormattedShowDate())
+                    .setBorder(Border.NO_BORDER)));
+            content.add(new Div().add(details).setBorderBottom(new SolidBorder(DIVIDER, 1)).setMarginBottom(10));
+
+            content.add(section(bold, "Seats", ticket.getSeatLabels(), null));
+            content.add(section(bold, "Booked By", ticket.getBookedBy(), null).setBorder(Border.NO_BORDER));
+
+            Div bookingId = new Div()
+                    .setBackgroundColor(LIGHT)
+                    .setPadding(12)
+                    .setTextAlignment(TextAlignment.CENTER);
+            bookingId.add(new Paragraph("Booking ID").setFontSize(10).setFontColor(MUTED).setMargin(0));
+            bookingId.add(new Paragraph("#" + ticket.getBookingId()).setFont(bold).setFontSize(22).setFontColor(BRAND)
+                    .setMargin(0));
+            content.add(bookingId);
+
+            content.add(new Paragraph("QR Code\nBooking ID: " + ticket.getBookingId())
+                    .setWidth(90).setHeight(90).setPaddingTop(30)
+                    .setBackgroundColor(DIVIDER)
+                    .setBorder(new DashedBorder(MUTED, 2))
+                    .setFontSize(10).setFontColor(MUTED)
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setMarginTop(12));
+            document.add(content);
+
+            Div footer = new Div()
+                    .setBackgroundColor(LIGHT)
+                    .setPadding(16)
+                    .setFontSize(10)
+                    .setFontColor(MUTED)
+                    .setTextAlignment(TextAlignment.CENTER);
+            footer.add(new Paragraph()
+                    .add(new Text("Important: ").setFont(bold))
+                    .add("Please arrive 15 minutes before show time. Carry a valid ID proof."));
+            footer.add(new Paragraph("Tickets are non-refundable and non-transferable.").setMarginBottom(0));
+            document.add(footer);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Whether every value on the ticket can be drawn with the standard fonts.
+     */
+    public static boolean canRender(TicketData ticket) {
+        CharsetEncoder encoder = STANDARD_FONT_CHARSET.newEncoder();
+        for (String value : new String[]{ticket.getMovieName(), ticket.getLanguage(), ticket.getGenre(),
+                ticket.getTheatreName(), ticket.getCity(), ticket.getSeatLabels(), ticket.getBookedBy()}) {
+            if (value != null && !encoder.canEncode(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Div section(PdfFont bold, String title, String value, String subtitle) {
+        Div section = new Div()
+                .setPaddingBottom(10)
+                .setMarginBottom(10)
+                .setBorderBottom(new SolidBorder(DIVIDER, 1));
+        section.add(new Paragraph(title.toUpperCase()).setFont(bold).setFontSize(9).setFontColor(MUTED)
+                .setCharacterSpacing(1).setMargin(0).setMarginBottom(6));
+        section.add(new Paragraph(value != null ? value : "").setFont(bold).setFontSize(16).setFontColor(TEXT).setMargin(0));
+        if (subtitle != null) {
+            section.add(new Paragraph(subtitle).setFontSize(11).setFontColor(MUTED).setMargin(0).setMarginTop(4));
+        }
+        return section;
+    }
+
+    private static Cell cell(Div content) {
+        return new Cell().add(content).setBorder(Border.NO_BORDER).setPadding(0).setPaddingRight(16);
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookmyshow.ticket;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Renders the HTML ticket template with html2pdf.
+ *
+ * Without a font provider html2pdf builds a new one for every conversion, loading
+ * the standard and shipped fonts each time. Here each render thread builds its
+ * converter properties and font provider once; html2pdf resets the provider's
+ * per-document font cache at the start of every conversion.
+ */
+public class HtmlTicketRenderer implements TicketRenderer {
+
+    public static final String TEMPLATE = "ticket/ticket-template.html";
+
+    private final TicketTemplate template;
+
+    // FontProvider caches fonts per document and is not thread-safe
+    private final ThreadLocal<ConverterProperties> converterProperties = ThreadLocal.withInitial(() -> {
+        ConverterProperties properties = new ConverterProperties();
+        properties.setFontProvider(new DefaultFontProvider());
+        return properties;
+    });
+
+    public HtmlTicketRenderer() {
+        this(TicketTemplate.load(TEMPLATE));
+    }
+
+    public HtmlTicketRenderer(TicketTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public byte[] render(TicketData ticket) throws IOException {
+        String html = template.render(ticket::value);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(16 * 1024);
+        HtmlConverter.convertToPdf(html, outputStream, converterProperties.get());
+        return outputStream.toByteArray();
+    }
+}
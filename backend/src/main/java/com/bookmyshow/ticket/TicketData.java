@@ -0,0 +1,133 @@
+package com.bookmyshow.ticket;
+
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.entity.ShowSeat;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The values printed on a ticket, copied out of the booking so rendering
+ * needs no entities (and no persistence session) on the render thread.
+ */
+public class TicketData {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
+
+    private final Long bookingId;
+    private final String movieName;
+    private final String language;
+    private final String genre;
+    private final Integer durationMinutes;
+    private final String theatreName;
+    private final String city;
+    private final LocalDateTime showTime;
+    private final String seatLabels;
+    private final String bookedBy;
+
+    public TicketData(Long bookingId, String movieName, String language, String genre, Integer durationMinutes,
+                      String theatreName, String city, LocalDateTime showTime, String seatLabels, String bookedBy) {
+        this.bookingId = bookingId;
+        this.movieName = movieName;
+        this.language = language;
+        this.genre = genre;
+        this.durationMinutes = durationMinutes;
+        this.theatreName = theatreName;
+        this.city = city;
+        this.showTime = showTime;
+        this.seatLabels = seatLabels;
+        this.bookedBy = bookedBy;
+    }
+
+    public static TicketData from(Booking booking, List<ShowSeat> seats) {
+        String seatLabels = seats.stream()
+                .map(seat -> seat.getSeat().getRowLabel() + seat.getSeat().getSeatNumber())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        Show show = booking.getShow();
+        return new TicketData(
+                booking.getId(),
+                show.getMovie().getName(),
+                String.valueOf(show.getMovie().getLanguage()),
+                show.getMovie().getGenre(),
+                show.getMovie().getDuration(),
+                show.getTheatre().getName(),
+                show.getTheatre().getCity(),
+                show.getShowTime(),
+                seatLabels,
+                booking.getUserName()
+        );
+    }
+
+    /**
+     * Value of a {@link TicketTemplate} placeholder.
+     */
+    public String value(String field) {
+        return switch (field) {
+            case "bookingId" -> String.valueOf(bookingId);
+            case "movieName" -> movieName;
+            case "language" -> language;
+            case "genre" -> genre;
+            case "duration" -> String.valueOf(durationMinutes);
+            case "theatreName" -> theatreName;
+            case "city" -> city;
+            case "showTime" -> getFormattedShowTime();
+            case "showDate" -> getFormattedShowDate();
+            case "seats" -> seatLabels;
+            case "bookedBy" -> bookedBy;
+            default -> throw new IllegalArgumentException("Unknown ticket field: " + field);
+        };
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public String getMovieName() {
+        return movieName;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public String getTheatreName() {
+        return theatreName;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public LocalDateTime getShowTime() {
+        return showTime;
+    }
+
+    public String getFormattedShowTime() {
+        return showTime.format(TIME_FORMATTER);
+    }
+
+    public String getFormattedShowDate() {
+        return showTime.format(DATE_FORMATTER);
+    }
+
+    public String getSeatLabels() {
+        return seatLabels;
+    }
+
+    public String getBookedBy() {
+        return bookedBy;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bookmyshow.ticket;
+
+/**
+ * How ticket PDFs are produced, selected with {@code ticket.pdf.renderer}.
+ */
+public enum TicketRenderMode {
+    /** The HTML/CSS ticket template converted with html2pdf. */
+    HTML,
+    /**
+     * The same ticket laid out directly with iText, skipping HTML and CSS processing (default).
+     * Tickets with text the standard fonts cannot draw still go through the HTML renderer.
+     */
+    DIRECT
+}
@@ -0,0 +1,12 @@
+package com.bookmyshow.ticket;
+
+import java.io.IOException;
+
+/**
+ * Renders a ticket to PDF. Implementations may keep per-thread state,
+ * so they are expected to run on a small fixed set of threads.
+ */
+public interface TicketRenderer {
+
+    byte[] render(TicketData ticket) throws IOException;
+}
@@ -0,0 +1,95 @@
+package com.bookmyshow.ticket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An HTML template compiled once into literal text and {@code {{field}}} placeholders.
+ *
+ * Rendering appends the literals and the HTML-escaped values into a single builder
+ * sized from the previous render, instead of formatting the whole document each time.
+ */
+public final class TicketTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] fields;
+    private volatile int lastLength;
+
+    private TicketTemplate(String[] literals, String[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.lastLength = length + 256;
+    }
+
+    public static TicketTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, from);
+            if (open < 0) {
+                literals.add(source.substring(from));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(from, open));
+            fields.add(source.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        return new TicketTemplate(literals.toArray(new String[0]), fields.toArray(new String[0]));
+    }
+
+    public static TicketTemplate load(String classpathResource) {
+        try (InputStream in = TicketTemplate.class.getClassLoader().getResourceAsStream(classpathResource)) {
+            if (in == null) {
+                throw new IllegalStateException("Ticket template not found: " + classpathResource);
+            }
+            return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read ticket template " + classpathResource, e);
+        }
+    }
+
+    public String render(Function<String, String> values) {
+        StringBuilder html = new StringBuilder(lastLength);
+        for (int i = 0; i < fields.length; i++) {
+            html.append(literals[i]);
+            appendEscaped(html, values.apply(fields[i]));
+        }
+        html.append(literals[fields.length]);
+        lastLength = html.length();
+        return html.toString();
+    }
+
+    private static void appendEscaped(StringBuilder html, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                case '"' -> html.append("&quot;");
+                case '\'' -> html.append("&#39;");
+                default -> html.append(c);
+            }
+        }
+    }
+}
@@ -22,40 +22,41 @@ INSERT INTO theatres (name, city) VALUES
 ('Cinepolis', 'Chennai');
 
 -- Insert Shows (using movie and theatre IDs)
+-- Show times are relative to the current date so the sample shows stay upcoming
 -- Note: These IDs will be auto-generated, so adjust based on actual IDs
 -- For Hyderabad
 INSERT INTO shows (movie_id, theatre_id, show_time, available_seats) VALUES
-(1, 1, '2026-01-18 21:10:00', 50),
-(1, 1, '2026-01-18 21:15:00', 50),
-(1, 2, '2026-01-18 21:20:00', 50),
-(2, 1, '2026-01-18 21:25:00', 50),
-(2, 3, '2026-01-18 21:30:00', 50),
-(3, 2, '2026-01-18 21:10:00', 50),
-(4, 1, '2026-01-18 21:10:00', 50),
-(4, 3, '2026-01-18 21:10:00', 50),
-(5, 2, '2026-01-18 21:10:00', 50);
+(1, 1, TIMESTAMPADD(MINUTE, 21 * 60 + 10, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(1, 1, TIMESTAMPADD(MINUTE, 21 * 60 + 15, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(1, 2, TIMESTAMPADD(MINUTE, 21 * 60 + 20, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(2, 1, TIMESTAMPADD(MINUTE, 21 * 60 + 25, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(2, 3, TIMESTAMPADD(MINUTE, 21 * 60 + 30, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(3, 2, TIMESTAMPADD(MINUTE, 21 * 60 + 10, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(4, 1, TIMESTAMPADD(MINUTE, 21 * 60 + 10, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(4, 3, TIMESTAMPADD(MINUTE, 21 * 60 + 10, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50),
+(5, 2, TIMESTAMPADD(MINUTE, 21 * 60 + 10, TIMESTAMPADD(DAY, 1, CURRENT_DATE)), 50);
 
 
 
 -- For Bangalore
 INSERT INTO shows (movie_id, theatre_id, show_time, available_seats) VALUES
-(1, 4, '2024-12-20 10:00:00', 50),
-(1, 4, '2024-12-20 14:00:00', 50),
-(2, 5, '2024-12-20 11:00:00', 50),
-(2, 6, '2024-12-20 18:00:00', 50),
-(3, 4, '2024-12-20 20:00:00', 50),
-(4, 5, '2024-12-20 16:00:00', 50),
-(5, 6, '2024-12-20 12:00:00', 50),
-(6, 4, '2024-12-20 15:00:00', 50);
+(1, 4, TIMESTAMPADD(MINUTE, 10 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(1, 4, TIMESTAMPADD(MINUTE, 14 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(2, 5, TIMESTAMPADD(MINUTE, 11 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(2, 6, TIMESTAMPADD(MINUTE, 18 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(3, 4, TIMESTAMPADD(MINUTE, 20 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(4, 5, TIMESTAMPADD(MINUTE, 16 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(5, 6, TIMESTAMPADD(MINUTE, 12 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(6, 4, TIMESTAMPADD(MINUTE, 15 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50);
 
 -- For Chennai
 INSERT INTO shows (movie_id, theatre_id, show_time, available_seats) VALUES
-(1, 7, '2024-12-20 10:00:00', 50),
-(2, 8, '2024-12-20 14:00:00', 50),
-(3, 9, '2024-12-20 11:00:00', 50),
-(4, 7, '2024-12-20 18:00:00', 50),
-(5, 8, '2024-12-20 20:00:00', 50),
-(6, 9, '2024-12-20 16:00:00', 50);
+(1, 7, TIMESTAMPADD(MINUTE, 10 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(2, 8, TIMESTAMPADD(MINUTE, 14 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(3, 9, TIMESTAMPADD(MINUTE, 11 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(4, 7, TIMESTAMPADD(MINUTE, 18 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(5, 8, TIMESTAMPADD(MINUTE, 20 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50),
+(6, 9, TIMESTAMPADD(MINUTE, 16 * 60 + 0, TIMESTAMPADD(DAY, 2, CURRENT_DATE)), 50);
 
 -- Insert 50 seats per theatre: 5 rows (A-E) x 10 seats each
 INSERT IGNORE INTO seats (theatre_id, row_label, seat_number, seat_type, is_active)
@@ -88,4 +89,6 @@ CROSS JOIN (
     UNION ALL SELECT 8
     UNION ALL SELECT 9
     UNION ALL SELECT 10
-) n;
+) n
+-- Keeps seat IDs in theatre order whichever index the database scans
+ORDER BY t.id, r.row_label, n.seat_number;
@@ -0,0 +1,75 @@
+package com.bookmyshow.controller;
+
+import com.bookmyshow.dto.LoginRequest;
+import com.bookmyshow.dto.SignupRequest;
+import com.bookmyshow.exception.GlobalExceptionHandler;
+import com.bookmyshow.exception.ServiceBusyException;
+import com.bookmyshow.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest {
+
+    private AuthService authService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        authService = mock(AuthService.class);
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authService", authService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void busyLoginIsAnswered503WithRetryAfter() throws Exception {
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new ServiceBusyException("Too many sign-in requests, please retry shortly", 2));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"emailOrMobile\":\"bob@example.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.message").value("Too many sign-in requests, please retry shortly"));
+    }
+
+    @Test
+    void busySignupIsAnswered503WithRetryAfter() throws Exception {
+        when(authService.signup(any(SignupRequest.class))).thenThrow(new ServiceBusyException("busy", 3));
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bob\",\"email\":\"bob@example.com\",\"mobileNumber\":\"9876543210\","
+                                + "\"password\":\"secret1\",\"confirmPassword\":\"secret1\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"));
+    }
+
+    @Test
+    void failedLoginIsStillA400() throws Exception {
+        when(authService.login(any(LoginRequest.class))).thenThrow(new RuntimeException("Invalid email or password"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"emailOrMobile\":\"bob@example.com\",\"password\":\"wrong\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookmyshow.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void singleTagMatchesExactly() {
+        assertTrue(ETags.matches("\"abc\"", "\"abc\""));
+        assertFalse(ETags.matches("\"abcd\"", "\"abc\""));
+        assertFalse(ETags.matches("\"ab\"", "\"abc\""));
+        assertFalse(ETags.matches(null, "\"abc\""));
+    }
+
+    @Test
+    void anyTagInTheListMatches() {
+        assertTrue(ETags.matches("\"x\", \"abc\"", "\"abc\""));
+        assertTrue(ETags.matches("\"x\",\"abc\",\"y\"", "\"abc\""));
+        assertFalse(ETags.matches("\"x\", \"y\"", "\"abc\""));
+    }
+
+    @Test
+    void weakAndStrongTagsCompareWeakly() {
+        assertTrue(ETags.matches("W/\"abc\"", "\"abc\""));
+        assertTrue(ETags.matches("\"1-2-0\"", "W/\"1-2-0\""));
+        assertTrue(ETags.matches("\"x\", W/\"1-2-0\"", "W/\"1-2-0\""));
+    }
+
+    @Test
+    void starMatchesAnyTag() {
+        assertTrue(ETags.matches("*", "\"abc\""));
+    }
+
+    @Test
+    void commaInsideATagDoesNotSplitIt() {
+        assertTrue(ETags.matches("\"a,b\"", "\"a,b\""));
+        assertFalse(ETags.matches("\"a,b\"", "\"b\""));
+    }
+
+    @Test
+    void malformedElementsAreSkipped() {
+        assertTrue(ETags.matches("abc, \"abc\"", "\"abc\""));
+        assertFalse(ETags.matches("abc", "\"abc\""));
+        assertFalse(ETags.matches("\"abc", "\"abc\""));
+    }
+}
@@ -0,0 +1,247 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.dto.BatchConfirmRequest;
+import com.bookmyshow.dto.BatchConfirmResponse;
+import com.bookmyshow.dto.ShowSeatSelection;
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.entity.SeatType;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.entity.ShowSeatStatus;
+import com.bookmyshow.entity.Theatre;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.repository.BookingRepository;
+import com.bookmyshow.repository.BookingSeatRepository;
+import com.bookmyshow.repository.NotificationOutboxRepository;
+import com.bookmyshow.repository.SeatRepository;
+import com.bookmyshow.repository.ShowRepository;
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import com.bookmyshow.repository.ShowSeatRepository;
+import com.bookmyshow.service.BookingService;
+import com.bookmyshow.service.NowShowingIndex;
+import com.bookmyshow.service.ReminderCallScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link BookingService#confirmBookings} through a transactional proxy, with real seat
+ * inventories so a rolled back batch can be seen to restore the holds it booked.
+ */
+class BatchConfirmTest {
+
+    private static final String USER = "bob";
+    private static final int SEATS = 2;
+
+    private final Map<Long, Show> shows = new HashMap<>();
+    private RecordingTransactionManager transactionManager;
+    private ShowRepository showRepository;
+    private NowShowingIndex nowShowingIndex;
+    private SeatInventoryService seatInventoryService;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        Seat[] seats = new Seat[SEATS];
+        for (int i = 0; i < SEATS; i++) {
+            seats[i] = new Seat(null, "A", i + 1, SeatType.REGULAR);
+            ReflectionTestUtils.setField(seats[i], "id", 100L + i);
+        }
+        SeatLayoutCache seatLayoutCache = mock(SeatLayoutCache.class);
+        when(seatLayoutCache.getLayout(anyLong())).thenReturn(new SeatLayout(1L, List.of(seats)));
+
+        showRepository = mock(ShowRepository.class);
+        ShowSeatRepository showSeatRepository = mock(ShowSeatRepository.class);
+        when(showSeatRepository.existsByShowId(anyLong())).thenReturn(true);
+        when(showSeatRepository.findByShowId(anyLong())).thenAnswer(invocation -> {
+            long showId = invocation.getArgument(0);
+            return Arrays.stream(seats).map(seat -> {
+                ShowSeat showSeat = new ShowSeat(shows.get(showId), seat, ShowSeatStatus.AVAILABLE);
+                ReflectionTestUtils.setField(showSeat, "id", showId * 1000 + seat.getId());
+                return showSeat;
+            }).toList();
+        });
+        for (long showId = 1; showId <= 3; showId++) {
+            Show show = show(showId);
+            shows.put(showId, show);
+            when(showRepository.findById(showId)).thenReturn(Optional.of(show));
+        }
+
+        transactionManager = new RecordingTransactionManager();
+        BookingMetrics bookingMetrics = new BookingMetrics(new SimpleMeterRegistry());
+        seatInventoryService = new SeatInventoryService();
+        ReflectionTestUtils.setField(seatInventoryService, "showRepository", showRepository);
+        ReflectionTestUtils.setField(seatInventoryService, "showSeatRepository", showSeatRepository);
+        ReflectionTestUtils.setField(seatInventoryService, "seatLayoutCache", seatLayoutCache);
+        ReflectionTestUtils.setField(seatInventoryService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(seatInventoryService, "bookingMetrics", bookingMetrics);
+        ReflectionTestUtils.setField(seatInventoryService, "holdMode", SeatHoldMode.INVENTORY);
+
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        AtomicLong bookingIds = new AtomicLong();
+        when(bookingRepository.save(any())).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(bookingIds.incrementAndGet());
+            return booking;
+        });
+        ShowSeatBatchRepository showSeatBatchRepository = mock(ShowSeatBatchRepository.class);
+        when(showSeatBatchRepository.book(any(), any())).thenAnswer(invocation -> {
+            int[] counts = new int[((long[]) invocation.getArgument(0)).length];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+        SeatRepository seatRepository = mock(SeatRepository.class);
+        when(seatRepository.getReferenceById(anyLong())).thenAnswer(invocation -> new Seat());
+        nowShowingIndex = mock(NowShowingIndex.class);
+
+        BookingService target = new BookingService();
+        ReflectionTestUtils.setField(target, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(target, "showRepository", showRepository);
+        ReflectionTestUtils.setField(target, "seatRepository", seatRepository);
+        ReflectionTestUtils.setField(target, "bookingSeatRepository", mock(BookingSeatRepository.class));
+        ReflectionTestUtils.setField(target, "notificationOutboxRepository", mock(NotificationOutboxRepository.class));
+        ReflectionTestUtils.setField(target, "showSeatBatchRepository", showSeatBatchRepository);
+        ReflectionTestUtils.setField(target, "seatInventoryService", seatInventoryService);
+        ReflectionTestUtils.setField(target, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(target, "bookingMetrics", bookingMetrics);
+        ReflectionTestUtils.setField(target, "reminderCallScheduler", mock(ReminderCallScheduler.class));
+        ReflectionTestUtils.setField(target, "nowShowingIndex", nowShowingIndex);
+
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        bookingService = (BookingService) proxyFactory.getProxy();
+    }
+
+    @Test
+    void everyShowIsConfirmedInShowOrder() {
+        hold(1L);
+        hold(2L);
+        hold(3L);
+
+        BatchConfirmResponse response = bookingService.confirmBookings(request(3L, 1L, 2L));
+
+        assertTrue(response.isConfirmed());
+        assertEquals(List.of(1L, 2L, 3L), response.getResults().stream().map(BatchConfirmResponse.Result::getShowId).toList());
+        for (BatchConfirmResponse.Result result : response.getResults()) {
+            assertEquals("CONFIRMED", result.getStatus());
+            assertNotNull(result.getBookingId());
+            assertEquals(ShowSeatStatus.BOOKED, inventory(result.getShowId()).slotAt(0).getStatus());
+        }
+        InOrder decrements = inOrder(showRepository);
+        for (long showId = 1; showId <= 3; showId++) {
+            decrements.verify(showRepository).decrementAvailableSeats(showId, SEATS);
+        }
+        assertEquals(1, transactionManager.commits);
+        assertEquals(0, transactionManager.rollbacks);
+    }
+
+    @Test
+    void failedShowRollsBackTheBatchAndReportsEveryShow() {
+        hold(1L);
+        // Show 2 was never held, so it fails and show 3 is not attempted
+        hold(3L);
+
+        BatchConfirmResponse response = bookingService.confirmBookings(request(3L, 2L, 1L));
+
+        assertFalse(response.isConfirmed());
+        List<BatchConfirmResponse.Result> results = response.getResults();
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(BatchConfirmResponse.Result::getShowId).toList());
+        assertEquals("ROLLED_BACK", results.get(0).getStatus());
+        assertNull(results.get(0).getBookingId());
+        assertEquals("FAILED", results.get(1).getStatus());
+        assertEquals("Seats must be held by current user before confirmation", results.get(1).getMessage());
+        assertEquals("NOT_ATTEMPTED", results.get(2).getStatus());
+
+        assertEquals(0, transactionManager.commits);
+        assertEquals(1, transactionManager.rollbacks);
+        verify(showRepository, never()).decrementAvailableSeats(anyLong(), anyInt());
+        verify(nowShowingIndex, never()).adjustAvailableSeatsAfterCommit(anyLong(), anyInt());
+        // The booked seats of show 1 are held again once the rollback completes
+        LocalDateTime now = LocalDateTime.now();
+        for (int position = 0; position < SEATS; position++) {
+            assertTrue(inventory(1L).slotAt(position).isHeldBy(USER, now));
+            assertTrue(inventory(3L).slotAt(position).isHeldBy(USER, now));
+        }
+    }
+
+    private void hold(Long showId) {
+        ShowSeatInventory inventory = inventory(showId);
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(inventory.hold(new int[]{0, 1}, USER, now.plusMinutes(10), now).isApplied());
+    }
+
+    private ShowSeatInventory inventory(Long showId) {
+        return seatInventoryService.getInventory(shows.get(showId));
+    }
+
+    private static BatchConfirmRequest request(Long... showIds) {
+        BatchConfirmRequest request = new BatchConfirmRequest();
+        request.setUserId(USER);
+        request.setBookings(Arrays.stream(showIds)
+                .map(showId -> new ShowSeatSelection(showId, List.of(100L, 101L)))
+                .toList());
+        return request;
+    }
+
+    private static Show show(Long id) {
+        Theatre theatre = new Theatre("PVR", "Pune");
+        theatre.setId(1L);
+        Show show = new Show();
+        show.setId(id);
+        show.setTheatre(theatre);
+        show.setShowTime(LocalDateTime.now().plusDays(1));
+        return show;
+    }
+
+    // Runs synchronizations like a real manager, so rollback hooks fire
+    private static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private int commits;
+        private int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
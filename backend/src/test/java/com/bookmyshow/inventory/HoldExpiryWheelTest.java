@@ -0,0 +1,73 @@
+package com.bookmyshow.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldExpiryWheelTest {
+
+    private static final long TICK = 1000;
+
+    private final HoldExpiryWheel wheel = new HoldExpiryWheel(TICK, 8, 0);
+
+    @Test
+    void entryFiresOnTheTickItExpiresOn() {
+        HoldExpiryWheel.Entry entry = entry();
+        wheel.schedule(entry, 2500);
+
+        assertTrue(wheel.advance(2999).isEmpty());
+        assertEquals(List.of(entry), wheel.advance(3000));
+        assertTrue(wheel.advance(4000).isEmpty());
+    }
+
+    @Test
+    void passedDeadlineFiresOnTheNextTick() {
+        wheel.advance(5000);
+        HoldExpiryWheel.Entry entry = entry();
+        wheel.schedule(entry, 1000);
+
+        assertTrue(wheel.advance(5999).isEmpty());
+        assertEquals(List.of(entry), wheel.advance(6000));
+    }
+
+    @Test
+    void entryBeyondOneRotationWaitsForItsTick() {
+        HoldExpiryWheel.Entry near = entry();
+        HoldExpiryWheel.Entry far = entry();
+        wheel.schedule(near, 3000);
+        // Same bucket as tick 3, one rotation later
+        wheel.schedule(far, 11000);
+
+        assertEquals(List.of(near), wheel.advance(3000));
+        assertTrue(wheel.advance(10999).isEmpty());
+        assertEquals(List.of(far), wheel.advance(11000));
+    }
+
+    @Test
+    void longPauseFiresEveryElapsedEntryOnce() {
+        HoldExpiryWheel.Entry first = entry();
+        HoldExpiryWheel.Entry second = entry();
+        HoldExpiryWheel.Entry later = entry();
+        wheel.schedule(first, 2000);
+        wheel.schedule(second, 7000);
+        wheel.schedule(later, 40000);
+
+        List<HoldExpiryWheel.Entry> due = wheel.advance(30000);
+
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of(first, second)));
+        assertTrue(wheel.advance(39999).isEmpty());
+        assertEquals(List.of(later), wheel.advance(40000));
+    }
+
+    @Test
+    void wheelSizeMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HoldExpiryWheel(TICK, 6, 0));
+    }
+
+    private static HoldExpiryWheel.Entry entry() {
+        return new HoldExpiryWheel.Entry(null, new int[0], new SeatSlot[0]);
+    }
+}
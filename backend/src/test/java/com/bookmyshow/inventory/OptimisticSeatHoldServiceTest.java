@@ -0,0 +1,171 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.dto.HoldSeatsRequest;
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.entity.SeatType;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.entity.ShowSeatStatus;
+import com.bookmyshow.exception.SeatHoldConflictException;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import com.bookmyshow.service.SeatHoldService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Holds in {@link SeatHoldMode#OPTIMISTIC} mode against show_seats in an embedded database,
+ * with another instance's writes made directly in the table.
+ */
+class OptimisticSeatHoldServiceTest {
+
+    private static final long SHOW_ID = 1L;
+    private static final int SEATS = 3;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ShowSeatInventory inventory;
+    private SeatHoldService seatHoldService;
+
+    // Run between reading the versions and the conditional updates, like a concurrent writer
+    private Runnable afterVersionsRead = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE show_seats (
+                id BIGINT PRIMARY KEY,
+                show_id BIGINT NOT NULL,
+                seat_id BIGINT NOT NULL,
+                status VARCHAR(20) NOT NULL,
+                held_by_user_id VARCHAR(255),
+                hold_expires_at TIMESTAMP,
+                updated_at TIMESTAMP,
+                version BIGINT NOT NULL
+            )
+        """);
+
+        List<Seat> seats = new ArrayList<>();
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int i = 0; i < SEATS; i++) {
+            Seat seat = new Seat(null, "A", i + 1, SeatType.REGULAR);
+            ReflectionTestUtils.setField(seat, "id", 100L + i);
+            seats.add(seat);
+            ShowSeat showSeat = new ShowSeat(null, seat, ShowSeatStatus.AVAILABLE);
+            ReflectionTestUtils.setField(showSeat, "id", 1000L + i);
+            showSeats.add(showSeat);
+            jdbcTemplate.update("INSERT INTO show_seats (id, show_id, seat_id, status, version) VALUES (?, ?, ?, 'AVAILABLE', 0)",
+                    1000L + i, SHOW_ID, 100L + i);
+        }
+        inventory = new ShowSeatInventory(SHOW_ID, LocalDateTime.now().plusDays(1), new SeatLayout(1L, seats), showSeats);
+
+        ShowSeatBatchRepository repository = new ShowSeatBatchRepository() {
+            @Override
+            public Long[] findVersions(long[] showSeatIds) {
+                Long[] versions = super.findVersions(showSeatIds);
+                afterVersionsRead.run();
+                return versions;
+            }
+        };
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "namedParameterJdbcTemplate", new NamedParameterJdbcTemplate(jdbcTemplate));
+
+        OptimisticSeatHoldService optimistic = new OptimisticSeatHoldService();
+        ReflectionTestUtils.setField(optimistic, "showSeatBatchRepository", repository);
+        ReflectionTestUtils.setField(optimistic, "transactionManager", new DataSourceTransactionManager(database));
+
+        SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+        when(seatInventoryService.findInventory(SHOW_ID)).thenReturn(Optional.of(inventory));
+        when(seatInventoryService.getHoldMode()).thenReturn(SeatHoldMode.OPTIMISTIC);
+
+        seatHoldService = new SeatHoldService();
+        ReflectionTestUtils.setField(seatHoldService, "seatInventoryService", seatInventoryService);
+        ReflectionTestUtils.setField(seatHoldService, "optimisticSeatHoldService", optimistic);
+        ReflectionTestUtils.setField(seatHoldService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(seatHoldService, "bookingMetrics", new BookingMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void holdWritesEverySeat() {
+        seatHoldService.holdSeats(SHOW_ID, request("bob", 100L, 101L));
+
+        assertRow(1000L, "HELD", "bob", 1);
+        assertRow(1001L, "HELD", "bob", 1);
+        assertTrue(inventory.slotAt(0).isHeldBy("bob", LocalDateTime.now()));
+    }
+
+    @Test
+    void versionConflictFailsTheHoldAndChangesNoRow() {
+        // Another instance held and released seat 101 after its version was read
+        afterVersionsRead = () -> jdbcTemplate.update("UPDATE show_seats SET version = version + 2 WHERE id = 1001");
+
+        SeatHoldConflictException conflict = assertThrows(SeatHoldConflictException.class,
+                () -> seatHoldService.holdSeats(SHOW_ID, request("bob", 100L, 101L)));
+
+        assertEquals(List.of(101L), conflict.getFailedSeatIds());
+        assertRow(1000L, "AVAILABLE", null, 0);
+        assertRow(1001L, "AVAILABLE", null, 2);
+        assertTrue(inventory.slotAt(0).isAvailableAt(LocalDateTime.now()));
+    }
+
+    @Test
+    void statusConflictFailsTheHoldAndChangesNoRow() {
+        // Held through another instance, so this instance's inventory still shows it available
+        jdbcTemplate.update("UPDATE show_seats SET status = 'HELD', held_by_user_id = 'alice', hold_expires_at = ? WHERE id = 1001",
+                LocalDateTime.now().plusMinutes(10));
+
+        SeatHoldConflictException conflict = assertThrows(SeatHoldConflictException.class,
+                () -> seatHoldService.holdSeats(SHOW_ID, request("bob", 100L, 101L, 102L)));
+
+        assertEquals(List.of(101L), conflict.getFailedSeatIds());
+        assertRow(1000L, "AVAILABLE", null, 0);
+        assertRow(1001L, "HELD", "alice", 0);
+        assertRow(1002L, "AVAILABLE", null, 0);
+        assertTrue(inventory.slotAt(0).isAvailableAt(LocalDateTime.now()));
+        assertTrue(inventory.slotAt(2).isAvailableAt(LocalDateTime.now()));
+    }
+
+    private static HoldSeatsRequest request(String userId, Long... seatIds) {
+        HoldSeatsRequest request = new HoldSeatsRequest();
+        request.setUserId(userId);
+        request.setSeatIds(List.of(seatIds));
+        return request;
+    }
+
+    private void assertRow(long showSeatId, String status, String heldBy, long version) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, held_by_user_id, version FROM show_seats WHERE id = ?", showSeatId);
+        assertEquals(status, row.get("STATUS"));
+        assertEquals(heldBy, row.get("HELD_BY_USER_ID"));
+        assertEquals(version, ((Number) row.get("VERSION")).longValue());
+    }
+}
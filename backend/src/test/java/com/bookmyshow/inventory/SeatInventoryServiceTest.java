@@ -0,0 +1,146 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.entity.SeatType;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.entity.ShowSeatStatus;
+import com.bookmyshow.entity.Theatre;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.repository.ShowRepository;
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import com.bookmyshow.repository.ShowSeatBatchRepository.SeatStateRow;
+import com.bookmyshow.repository.ShowSeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryServiceTest {
+
+    private ShowRepository showRepository;
+    private ShowSeatRepository showSeatRepository;
+    private ShowSeatBatchRepository showSeatBatchRepository;
+    private SeatInventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        Seat seat = new Seat(null, "A", 1, SeatType.REGULAR);
+        ReflectionTestUtils.setField(seat, "id", 100L);
+        SeatLayoutCache seatLayoutCache = mock(SeatLayoutCache.class);
+        when(seatLayoutCache.getLayout(anyLong())).thenReturn(new SeatLayout(1L, List.of(seat)));
+
+        showRepository = mock(ShowRepository.class);
+        showSeatRepository = mock(ShowSeatRepository.class);
+        when(showSeatRepository.existsByShowId(anyLong())).thenReturn(true);
+        ShowSeat showSeat = new ShowSeat(null, seat, ShowSeatStatus.AVAILABLE);
+        ReflectionTestUtils.setField(showSeat, "id", 1000L);
+        when(showSeatRepository.findByShowId(anyLong())).thenReturn(List.of(showSeat));
+
+        showSeatBatchRepository = mock(ShowSeatBatchRepository.class);
+
+        service = new SeatInventoryService();
+        ReflectionTestUtils.setField(service, "showRepository", showRepository);
+        ReflectionTestUtils.setField(service, "showSeatRepository", showSeatRepository);
+        ReflectionTestUtils.setField(service, "seatLayoutCache", seatLayoutCache);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "bookingMetrics", new BookingMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "showSeatBatchRepository", showSeatBatchRepository);
+        ReflectionTestUtils.setField(service, "holdMode", SeatHoldMode.INVENTORY);
+    }
+
+    @Test
+    void concurrentFirstTouchLoadsOnce() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+        when(showSeatRepository.existsByShowId(1L)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            assertTrue(finishLoad.await(5, TimeUnit.SECONDS));
+            return true;
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            Future<ShowSeatInventory> first = callers.submit(() -> service.getInventory(show(1L)));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            Future<ShowSeatInventory> second = callers.submit(() -> service.getInventory(show(1L)));
+            // Another show is not held up by the load in progress
+            ShowSeatInventory other = callers.submit(() -> service.getInventory(show(2L))).get(5, TimeUnit.SECONDS);
+            finishLoad.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(2L, other.getShowId());
+            verify(showSeatRepository, times(1)).findByShowId(1L);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsRetriedByTheNextCaller() {
+        List<ShowSeat> showSeats = showSeatRepository.findByShowId(1L);
+        when(showSeatRepository.findByShowId(1L))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(showSeats);
+
+        assertThrows(IllegalStateException.class, () -> service.getInventory(show(1L)));
+        assertTrue(service.findLoaded(1L).isEmpty());
+        assertEquals(1L, service.getInventory(show(1L)).getShowId());
+    }
+
+    @Test
+    void loadedInventoryIsFoundWithoutReadingTheShow() {
+        when(showRepository.findById(1L)).thenReturn(Optional.of(show(1L)));
+
+        ShowSeatInventory loaded = service.findInventory(1L).orElseThrow();
+
+        assertSame(loaded, service.findInventory(1L).orElseThrow());
+        verify(showRepository, times(1)).findById(1L);
+        assertTrue(service.findInventory(99L).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushLeavesBookedSeatsToTheBookingTransaction() {
+        ShowSeatInventory inventory = service.getInventory(show(1L));
+        LocalDateTime now = LocalDateTime.now();
+        inventory.hold(new int[]{0}, "bob", now.plusMinutes(10), now);
+
+        service.flushPendingChanges();
+
+        ArgumentCaptor<List<SeatStateRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(showSeatBatchRepository).updateStates(rows.capture());
+        assertEquals(ShowSeatStatus.HELD, rows.getValue().get(0).getStatus());
+
+        // The booking may still roll back, so the flush must not write BOOKED ahead of it
+        inventory.book(new int[]{0}, "bob", now);
+        service.flushPendingChanges();
+
+        verifyNoMoreInteractions(showSeatBatchRepository);
+    }
+
+    private static Show show(Long id) {
+        Theatre theatre = new Theatre("PVR", "Pune");
+        theatre.setId(1L);
+        Show show = new Show();
+        show.setId(id);
+        show.setTheatre(theatre);
+        show.setShowTime(LocalDateTime.now().plusDays(1));
+        return show;
+    }
+}
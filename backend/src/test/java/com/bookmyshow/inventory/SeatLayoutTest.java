@@ -0,0 +1,38 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.entity.SeatType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatLayoutTest {
+
+    @Test
+    void layoutIdIsA128BitDigestOfTheContent() {
+        String layoutId = new SeatLayout(1L, List.of(seat(100L, "A", 1, SeatType.REGULAR))).getLayoutId();
+
+        assertTrue(layoutId.matches("[0-9a-f]{32}"), layoutId);
+        // Same seats in another theatre share the layout ID
+        assertEquals(layoutId, new SeatLayout(2L, List.of(seat(100L, "A", 1, SeatType.REGULAR))).getLayoutId());
+    }
+
+    @Test
+    void anyChangeToASeatChangesTheLayoutId() {
+        String layoutId = new SeatLayout(1L, List.of(seat(100L, "A", 1, SeatType.REGULAR))).getLayoutId();
+
+        assertNotEquals(layoutId, new SeatLayout(1L, List.of(seat(101L, "A", 1, SeatType.REGULAR))).getLayoutId());
+        assertNotEquals(layoutId, new SeatLayout(1L, List.of(seat(100L, "B", 1, SeatType.REGULAR))).getLayoutId());
+        assertNotEquals(layoutId, new SeatLayout(1L, List.of(seat(100L, "A", 2, SeatType.REGULAR))).getLayoutId());
+        assertNotEquals(layoutId, new SeatLayout(1L, List.of(seat(100L, "A", 1, SeatType.PREMIUM))).getLayoutId());
+    }
+
+    private static Seat seat(Long id, String row, int number, SeatType type) {
+        Seat seat = new Seat(null, row, number, type);
+        ReflectionTestUtils.setField(seat, "id", id);
+        return seat;
+    }
+}
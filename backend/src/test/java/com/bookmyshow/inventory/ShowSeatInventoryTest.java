@@ -0,0 +1,140 @@
+package com.bookmyshow.inventory;
+
+import com.bookmyshow.entity.Seat;
+import com.bookmyshow.entity.SeatType;
+import com.bookmyshow.entity.ShowSeat;
+import com.bookmyshow.entity.ShowSeatStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShowSeatInventoryTest {
+
+    private static final int SEATS = 5;
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 18, 0);
+    private final LocalDateTime holdExpiresAt = now.plusMinutes(10);
+
+    private ShowSeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        List<Seat> seats = new ArrayList<>();
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int i = 0; i < SEATS; i++) {
+            Seat seat = new Seat(null, "A", i + 1, SeatType.REGULAR);
+            ReflectionTestUtils.setField(seat, "id", 100L + i);
+            seats.add(seat);
+            ShowSeat showSeat = new ShowSeat(null, seat, ShowSeatStatus.AVAILABLE);
+            ReflectionTestUtils.setField(showSeat, "id", 1000L + i);
+            showSeats.add(showSeat);
+        }
+        inventory = new ShowSeatInventory(1L, now.plusDays(1), new SeatLayout(1L, seats), showSeats);
+    }
+
+    @Test
+    void holdClaimsEverySeat() {
+        SeatTransition hold = inventory.hold(new int[]{0, 1}, "alice", holdExpiresAt, now);
+
+        assertTrue(hold.isApplied());
+        assertTrue(inventory.slotAt(0).isHeldBy("alice", now));
+        assertTrue(inventory.slotAt(1).isHeldBy("alice", now));
+        assertEquals(1, inventory.getVersion());
+        assertEquals(List.of(0, 1), sorted(inventory.drainDirty()));
+    }
+
+    @Test
+    void partialClaimRollsBackAndBumpsVersion() {
+        inventory.hold(new int[]{2}, "alice", holdExpiresAt, now);
+        inventory.drainDirty();
+        long versionBefore = inventory.getVersion();
+
+        SeatTransition hold = inventory.hold(new int[]{0, 1, 2, 3}, "bob", holdExpiresAt, now);
+
+        assertFalse(hold.isApplied());
+        assertEquals(List.of(102L), hold.getFailedSeatIds());
+        // Seats claimed before the conflict are available again, and nothing is written behind
+        assertTrue(inventory.slotAt(0).isAvailableAt(now));
+        assertTrue(inventory.slotAt(1).isAvailableAt(now));
+        assertTrue(inventory.slotAt(3).isAvailableAt(now));
+        assertTrue(inventory.slotAt(2).isHeldBy("alice", now));
+        assertTrue(inventory.drainDirty().isEmpty());
+        // Snapshots taken while seats 0 and 1 were claimed must not stay current
+        assertEquals(versionBefore + 1, inventory.getVersion());
+    }
+
+    @Test
+    void conflictOnFirstSeatLeavesVersionAlone() {
+        inventory.hold(new int[]{0}, "alice", holdExpiresAt, now);
+        long versionBefore = inventory.getVersion();
+
+        assertFalse(inventory.hold(new int[]{0, 1}, "bob", holdExpiresAt, now).isApplied());
+        assertEquals(versionBefore, inventory.getVersion());
+    }
+
+    @Test
+    void expiredHoldCanBeTakenOver() {
+        inventory.hold(new int[]{0}, "alice", holdExpiresAt, now);
+
+        SeatTransition hold = inventory.hold(new int[]{0}, "bob", holdExpiresAt.plusMinutes(10), holdExpiresAt);
+
+        assertTrue(hold.isApplied());
+        assertTrue(inventory.slotAt(0).isHeldBy("bob", holdExpiresAt));
+    }
+
+    @Test
+    void releaseAndBookRequireTheHolder() {
+        inventory.hold(new int[]{0, 1}, "alice", holdExpiresAt, now);
+
+        assertFalse(inventory.release(new int[]{0}, "bob", now).isApplied());
+        assertFalse(inventory.book(new int[]{0, 1}, "bob", now).isApplied());
+        assertTrue(inventory.book(new int[]{0, 1}, "alice", now).isApplied());
+        assertEquals(ShowSeatStatus.BOOKED, inventory.slotAt(0).getStatus());
+        assertEquals(2, inventory.countByStatus(ShowSeatStatus.BOOKED, now));
+    }
+
+    @Test
+    void revertRestoresOnlySeatsNotChangedSince() {
+        inventory.hold(new int[]{0, 1}, "alice", holdExpiresAt, now);
+        SeatTransition booking = inventory.book(new int[]{0, 1}, "alice", now);
+        inventory.drainDirty();
+
+        inventory.revert(booking);
+
+        assertTrue(inventory.slotAt(0).isHeldBy("alice", now));
+        assertTrue(inventory.slotAt(1).isHeldBy("alice", now));
+        assertEquals(List.of(0, 1), sorted(inventory.drainDirty()));
+    }
+
+    @Test
+    void expireSkipsSeatsReheldSinceTheHold() {
+        SeatTransition hold = inventory.hold(new int[]{0, 1}, "alice", holdExpiresAt, now);
+        inventory.release(new int[]{1}, "alice", now);
+        inventory.hold(new int[]{1}, "bob", holdExpiresAt.plusMinutes(10), now);
+
+        SeatTransition expired = inventory.expire(hold.getPositions(), hold.getApplied(), holdExpiresAt);
+
+        assertArrayEquals(new int[]{0}, expired.getPositions());
+        assertTrue(inventory.slotAt(0).isAvailableAt(holdExpiresAt));
+        assertTrue(inventory.slotAt(1).isHeldBy("bob", holdExpiresAt));
+    }
+
+    @Test
+    void positionsOfRejectsUnknownAndRepeatedSeats() {
+        assertArrayEquals(new int[]{1, 3}, inventory.positionsOf(List.of(103L, 101L)));
+        assertNull(inventory.positionsOf(List.of(101L, 999L)));
+        assertNull(inventory.positionsOf(List.of(101L, 101L)));
+    }
+
+    private static List<Integer> sorted(List<Integer> positions) {
+        List<Integer> sorted = new ArrayList<>(positions);
+        sorted.sort(null);
+        return sorted;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bookmyshow.reminder;
+
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.metrics.BookingMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderCallDispatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ReminderCallDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void successfulCallReportsTheCallSid() throws Exception {
+        dispatcher = dispatcher(0, 3, 1);
+
+        Outcome outcome = dispatch(LocalDateTime.now().plusHours(1));
+
+        assertTrue(outcome.callSid.startsWith("STUB-"));
+        assertEquals(1, count("sent"));
+        assertEquals(0, count("retry"));
+    }
+
+    @Test
+    void failingCallIsRetriedUpToMaxAttempts() throws Exception {
+        dispatcher = dispatcher(1.0, 3, 1);
+
+        Outcome outcome = dispatch(LocalDateTime.now().plusHours(1));
+
+        assertNotNull(outcome.error);
+        assertEquals(2, count("retry"));
+        assertEquals(1, count("failed"));
+        assertEquals(0, count("sent"));
+    }
+
+    @Test
+    void noRetryIsStartedAfterTheDeadline() throws Exception {
+        // The deadline has passed, so no backoff can end before it
+        dispatcher = dispatcher(1.0, 5, 60_000);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", 60_000L);
+
+        long start = System.nanoTime();
+        Outcome outcome = dispatch(LocalDateTime.now().minusSeconds(1));
+
+        assertNotNull(outcome.error);
+        assertEquals(0, count("retry"));
+        assertEquals(1, count("failed"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+    }
+
+    @Test
+    void fullQueueRejectsTheCall() {
+        dispatcher = dispatcher(0, 1, 1);
+        StubReminderCallProvider slow = (StubReminderCallProvider) ReflectionTestUtils.getField(dispatcher, "provider");
+        ReflectionTestUtils.setField(slow, "latencyMs", 500L);
+        ReminderCallDispatcher.ReminderCallListener ignored = new ReminderCallDispatcher.ReminderCallListener() {
+            @Override
+            public void onSent(String callSid) {
+            }
+
+            @Override
+            public void onFailed(Exception error) {
+            }
+        };
+
+        // One call running and one queued fill the single worker and single queue slot
+        LocalDateTime deadline = LocalDateTime.now().plusHours(1);
+        assertTrue(dispatcher.dispatch(new Booking(), "+10000000000", deadline, ignored));
+        dispatcher.dispatch(new Booking(), "+10000000000", deadline, ignored);
+        assertFalse(dispatcher.dispatch(new Booking(), "+10000000000", deadline, ignored));
+        assertTrue(count("rejected") >= 1);
+    }
+
+    private ReminderCallDispatcher dispatcher(double failureRate, int maxAttempts, long backoffBaseMs) {
+        StubReminderCallProvider stub = new StubReminderCallProvider();
+        ReflectionTestUtils.setField(stub, "failureRate", failureRate);
+
+        ReminderCallDispatcher dispatcher = new ReminderCallDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "providers", List.<ReminderCallProvider>of(stub));
+        ReflectionTestUtils.setField(dispatcher, "bookingMetrics", new BookingMetrics(registry));
+        ReflectionTestUtils.setField(dispatcher, "providerName", "stub");
+        ReflectionTestUtils.setField(dispatcher, "workers", 1);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(dispatcher, "ratePerSecond", 1000.0);
+        ReflectionTestUtils.setField(dispatcher, "burst", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseMs", backoffBaseMs);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", Math.max(backoffBaseMs, 10L));
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private Outcome dispatch(LocalDateTime deadline) throws Exception {
+        CompletableFuture<Outcome> result = new CompletableFuture<>();
+        boolean queued = dispatcher.dispatch(new Booking(), "+10000000000", deadline,
+                new ReminderCallDispatcher.ReminderCallListener() {
+                    @Override
+                    public void onSent(String callSid) {
+                        result.complete(new Outcome(callSid, null));
+                    }
+
+                    @Override
+                    public void onFailed(Exception error) {
+                        result.complete(new Outcome(null, error));
+                    }
+                });
+        assertTrue(queued);
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    private double count(String outcome) {
+        Counter counter = registry.find("bms.reminder.call").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private record Outcome(String callSid, Exception error) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.bookmyshow.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void burstIsAvailableImmediately() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 5);
+
+        long elapsed = timeMillis(() -> {
+            for (int i = 0; i < 5; i++) {
+                bucket.acquire();
+            }
+        });
+
+        assertTrue(elapsed < 200, "burst took " + elapsed + " ms");
+    }
+
+    @Test
+    void emptyBucketWaitsForARefill() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        bucket.acquire();
+
+        long elapsed = timeMillis(bucket::acquire);
+
+        // One permit every 100 ms
+        assertTrue(elapsed >= 80, "refill took " + elapsed + " ms");
+        assertTrue(elapsed < 1000, "refill took " + elapsed + " ms");
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 2);
+        bucket.acquire();
+        bucket.acquire();
+        // Long enough for 30 permits, but the bucket holds 2
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        long burst = timeMillis(() -> {
+            bucket.acquire();
+            bucket.acquire();
+        });
+        long third = timeMillis(bucket::acquire);
+
+        assertTrue(burst < 50, "burst took " + burst + " ms");
+        assertTrue(third >= 5, "third permit took " + third + " ms");
+    }
+
+    @Test
+    void rateAndCapacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+
+    private interface Acquisition {
+        void run() throws InterruptedException;
+    }
+
+    private static long timeMillis(Acquisition acquisition) throws InterruptedException {
+        long start = System.nanoTime();
+        acquisition.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
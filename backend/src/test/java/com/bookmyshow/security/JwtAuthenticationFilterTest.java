@@ -0,0 +1,142 @@
+package com.bookmyshow.security;
+
+import com.bookmyshow.entity.RevokedToken;
+import com.bookmyshow.entity.User;
+import com.bookmyshow.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Stateless tokens through the filter, with the verified token cache and deny-list in front
+ * of a mocked {@code revoked_tokens} table.
+ */
+class JwtAuthenticationFilterTest {
+
+    private JwtUtil jwtUtil;
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenDenyList tokenDenyList;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private String tokenId;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "TestSecretKeyForJwtAuthenticationFilterTest0123456789");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.init();
+
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxTtlSeconds", 300L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        verifiedTokenCache.start();
+
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        tokenDenyList = new TokenDenyList();
+        ReflectionTestUtils.setField(tokenDenyList, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenDenyList, "meterRegistry", new SimpleMeterRegistry());
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", mock(UserDetailsService.class));
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(filter, "tokenDenyList", tokenDenyList);
+        ReflectionTestUtils.setField(filter, "mode", TokenMode.STATELESS);
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("bob@example.com");
+        user.setName("Bob");
+        user.setMobileNumber("9876543210");
+        token = jwtUtil.generateToken(user);
+        tokenId = jwtUtil.parseClaims(token).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesFromItsClaims() throws Exception {
+        Authentication authentication = authenticate(token);
+
+        assertNotNull(authentication);
+        TokenPrincipal principal = (TokenPrincipal) authentication.getPrincipal();
+        assertEquals(7L, principal.getUserId());
+        assertEquals("bob@example.com", principal.getUsername());
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceRevoked() throws Exception {
+        assertNotNull(authenticate(token));
+
+        tokenDenyList.revoke(tokenId, 7L, LocalDateTime.now().plusHours(1));
+
+        assertNull(authenticate(token));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revocationOnAnotherNodeAppliesAfterRefresh() throws Exception {
+        assertNotNull(authenticate(token));
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of(tokenId));
+
+        tokenDenyList.refresh();
+
+        assertNull(authenticate(token));
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void otherTokensOfTheUserStayValid() throws Exception {
+        tokenDenyList.revoke(tokenId, 7L, LocalDateTime.now().plusHours(1));
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("bob@example.com");
+
+        assertNotNull(authenticate(jwtUtil.generateToken(user)));
+    }
+
+    @Test
+    void alreadyRevokedTokenIsNotSavedAgain() {
+        when(revokedTokenRepository.existsByTokenId(tokenId)).thenReturn(true);
+
+        tokenDenyList.revoke(tokenId, 7L, LocalDateTime.now().plusHours(1));
+
+        verify(revokedTokenRepository, never()).save(any());
+        assertTrue(tokenDenyList.isRevoked(tokenId));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(authenticate(tampered));
+    }
+
+    private Authentication authenticate(String jwt) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/me");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
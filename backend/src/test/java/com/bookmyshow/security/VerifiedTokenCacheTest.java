@@ -0,0 +1,104 @@
+package com.bookmyshow.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final UserDetails PRINCIPAL = new User("bob@example.com", "", List.of());
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void repeatLookupsVerifyOnce() {
+        VerifiedTokenCache cache = cache(100, 300);
+        Function<String, VerifiedTokenCache.VerifiedToken> verifier = verifierExpiringIn(60_000);
+
+        VerifiedTokenCache.VerifiedToken first = cache.get("token-a", verifier);
+
+        assertSame(first, cache.get("token-a", verifier));
+        assertEquals(1, verifications.get());
+        cache.get("token-b", verifier);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void entryExpiresWithTheToken() throws InterruptedException {
+        VerifiedTokenCache cache = cache(100, 300);
+        Function<String, VerifiedTokenCache.VerifiedToken> verifier = verifierExpiringIn(200);
+
+        assertNotNull(cache.get("token", verifier));
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        // Verified again, and the expired token is not let through
+        assertNull(cache.get("token", verifier));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void entryExpiresAfterTheMaxTtl() throws InterruptedException {
+        VerifiedTokenCache cache = cache(100, 1);
+        Function<String, VerifiedTokenCache.VerifiedToken> verifier = verifierExpiringIn(60_000);
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+        assertEquals(1, verifications.get());
+        TimeUnit.MILLISECONDS.sleep(1100);
+
+        assertNotNull(cache.get("token", verifier));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() {
+        VerifiedTokenCache cache = cache(100, 300);
+        Function<String, VerifiedTokenCache.VerifiedToken> verifier = token -> {
+            verifications.incrementAndGet();
+            return null;
+        };
+
+        assertNull(cache.get("token", verifier));
+        assertNull(cache.get("token", verifier));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void zeroMaxSizeDisablesTheCache() {
+        VerifiedTokenCache cache = cache(0, 300);
+        Function<String, VerifiedTokenCache.VerifiedToken> verifier = verifierExpiringIn(60_000);
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    // Tokens carry a fixed expiry, like the exp claim of a signed token
+    private Function<String, VerifiedTokenCache.VerifiedToken> verifierExpiringIn(long millis) {
+        Date expiresAt = new Date(System.currentTimeMillis() + millis);
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedTokenCache.VerifiedToken(PRINCIPAL, token, expiresAt);
+        };
+    }
+
+    private static VerifiedTokenCache cache(long maxSize, long maxTtlSeconds) {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "maxTtlSeconds", maxTtlSeconds);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        cache.start();
+        return cache;
+    }
+}
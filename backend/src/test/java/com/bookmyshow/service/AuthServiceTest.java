@@ -0,0 +1,139 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.dto.AuthResponse;
+import com.bookmyshow.dto.LoginRequest;
+import com.bookmyshow.entity.User;
+import com.bookmyshow.exception.ServiceBusyException;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.repository.UserRepository;
+import com.bookmyshow.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Logins against users whose hashes were made at a lower BCrypt strength than the current one.
+ */
+class AuthServiceTest {
+
+    private static final String PASSWORD = "secret1";
+
+    private UserRepository userRepository;
+    private PasswordHashingService passwordHashingService;
+    private AuthService authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", new BCryptPasswordEncoder(5));
+        ReflectionTestUtils.setField(passwordHashingService, "bookingMetrics", new BookingMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(passwordHashingService, "workers", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMs", 5_000L);
+        passwordHashingService.start();
+
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "TestSecretKeyForAuthServiceTest01234567890123456789");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.init();
+
+        user = new User();
+        user.setId(7L);
+        user.setName("Bob");
+        user.setEmail("bob@example.com");
+        user.setMobileNumber("9876543210");
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("bob@example.com")).thenReturn(Optional.of(user));
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(authService, "jwtUtil", jwtUtil);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void outdatedHashIsReplacedOnLogin() {
+        String outdated = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        user.setPassword(outdated);
+        when(userRepository.updatePasswordHash(eq(7L), eq(outdated), anyString())).thenReturn(1);
+
+        AuthResponse response = authService.login(login(PASSWORD));
+
+        assertNotNull(response.getToken());
+        ArgumentCaptor<String> rehashed = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePasswordHash(eq(7L), eq(outdated), rehashed.capture());
+        assertTrue(rehashed.getValue().startsWith("$2a$05$"));
+        assertTrue(new BCryptPasswordEncoder().matches(PASSWORD, rehashed.getValue()));
+        assertEquals(rehashed.getValue(), user.getPassword());
+    }
+
+    @Test
+    void currentHashIsLeftAlone() {
+        user.setPassword(new BCryptPasswordEncoder(5).encode(PASSWORD));
+
+        authService.login(login(PASSWORD));
+
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void wrongPasswordIsNotRehashed() {
+        user.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        assertThrows(RuntimeException.class, () -> authService.login(login("wrong")));
+
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void hashChangedConcurrentlyIsNotOverwritten() {
+        String outdated = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        user.setPassword(outdated);
+        // Another login or a password change updated the row first
+        when(userRepository.updatePasswordHash(anyLong(), anyString(), anyString())).thenReturn(0);
+
+        authService.login(login(PASSWORD));
+
+        assertEquals(outdated, user.getPassword());
+    }
+
+    @Test
+    void busyPoolDuringRehashStillLogsIn() {
+        PasswordHashingService busy = mock(PasswordHashingService.class);
+        when(busy.matches(any(), any())).thenReturn(true);
+        when(busy.needsRehash(any())).thenReturn(true);
+        when(busy.encode(any())).thenThrow(new ServiceBusyException("busy", 2));
+        ReflectionTestUtils.setField(authService, "passwordHashingService", busy);
+        user.setPassword("$2a$04$outdated");
+
+        assertNotNull(authService.login(login(PASSWORD)).getToken());
+
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    private static LoginRequest login(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmailOrMobile("bob@example.com");
+        request.setPassword(password);
+        return request;
+    }
+}
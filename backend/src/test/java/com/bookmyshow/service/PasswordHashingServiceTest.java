@@ -0,0 +1,128 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.exception.ServiceBusyException;
+import com.bookmyshow.metrics.BookingMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void hashesOnThePool() {
+        service = service(new BCryptPasswordEncoder(4), 1, 1, 5_000);
+
+        String hash = service.encode("secret1");
+
+        assertTrue(service.matches("secret1", hash));
+        assertFalse(service.matches("secret2", hash));
+    }
+
+    @Test
+    void fullQueueIsTurnedAwayAtOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        service = service(blockingEncoder(started), 1, 1, 10_000);
+        // One hash on the only thread, one in the only queue slot
+        CompletableFuture.runAsync(() -> service.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> service.encode("queued"));
+        waitForQueued(1);
+
+        long start = System.nanoTime();
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> service.encode("rejected"));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertEquals(2, busy.getRetryAfterSeconds());
+        assertEquals(1, rejected("queue-full"));
+    }
+
+    @Test
+    void slowHashTimesOut() {
+        service = service(blockingEncoder(new CountDownLatch(1)), 1, 1, 100);
+
+        assertThrows(ServiceBusyException.class, () -> service.matches("secret1", "hash"));
+
+        assertEquals(1, rejected("timeout"));
+    }
+
+    @Test
+    void hashBelowTheCurrentStrengthNeedsRehash() {
+        service = service(new BCryptPasswordEncoder(5), 1, 1, 5_000);
+
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("secret1")));
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(5).encode("secret1")));
+    }
+
+    // Holds the hashing thread until the test ends
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                await();
+                return super.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                await();
+                return false;
+            }
+        };
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitForQueued(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.get("bms.auth.password.queue").gauge().value() < count; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(count, registry.get("bms.auth.password.queue").gauge().value());
+    }
+
+    private double rejected(String reason) {
+        Counter counter = registry.find("bms.auth.password.rejected").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private PasswordHashingService service(PasswordEncoder encoder, int workers, int queueCapacity, long timeoutMs) {
+        PasswordHashingService service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(service, "bookingMetrics", new BookingMetrics(registry));
+        ReflectionTestUtils.setField(service, "workers", workers);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 2L);
+        service.start();
+        return service;
+    }
+}
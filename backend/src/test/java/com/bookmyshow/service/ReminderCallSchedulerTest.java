@@ -0,0 +1,91 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.entity.Booking;
+import com.bookmyshow.entity.BookingReminder;
+import com.bookmyshow.entity.BookingReminderStatus;
+import com.bookmyshow.entity.BookingStatus;
+import com.bookmyshow.entity.Movie;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.entity.Theatre;
+import com.bookmyshow.metrics.BookingMetrics;
+import com.bookmyshow.reminder.ReminderCallDispatcher;
+import com.bookmyshow.repository.BookingReminderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReminderCallSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BookingReminderRepository repository;
+    private ReminderCallDispatcher dispatcher;
+    private ReminderCallScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BookingReminderRepository.class);
+        when(repository.transition(anyLong(), any(), any(), any())).thenReturn(1);
+        dispatcher = mock(ReminderCallDispatcher.class);
+        when(dispatcher.hasCapacity()).thenReturn(true);
+        when(dispatcher.dispatch(any(), any(), any(), any())).thenReturn(true);
+        when(dispatcher.getRatePerSecond()).thenReturn(10.0);
+
+        scheduler = new ReminderCallScheduler();
+        ReflectionTestUtils.setField(scheduler, "bookingReminderRepository", repository);
+        ReflectionTestUtils.setField(scheduler, "reminderCallDispatcher", dispatcher);
+        ReflectionTestUtils.setField(scheduler, "bookingMetrics", new BookingMetrics(registry));
+    }
+
+    @Test
+    void reminderDelayedByARushIsStillCalledBeforeTheShow() {
+        // Due 10 minutes ago, behind reminders the provider's rate has not reached yet
+        BookingReminder reminder = reminder(1L, LocalDateTime.now().plusMinutes(10));
+        when(repository.findDue(eq(BookingReminderStatus.PENDING), any(), any())).thenReturn(List.of(reminder));
+
+        scheduler.checkAndSendReminderCalls();
+
+        verify(dispatcher).dispatch(eq(reminder.getBooking()), eq("+919876543210"), eq(reminder.getShowTime()), any());
+        verify(repository).transition(eq(1L), eq(BookingReminderStatus.PENDING), eq(BookingReminderStatus.CALLING), any());
+        assertEquals(0, lateCount());
+    }
+
+    @Test
+    void reminderCloseToShowTimeIsSkippedAndCounted() {
+        BookingReminder reminder = reminder(1L, LocalDateTime.now().plusMinutes(4));
+        when(repository.findDue(eq(BookingReminderStatus.PENDING), any(), any())).thenReturn(List.of(reminder));
+
+        scheduler.checkAndSendReminderCalls();
+
+        verify(dispatcher, never()).dispatch(any(), any(), any(), any());
+        verify(repository).transition(eq(1L), eq(BookingReminderStatus.PENDING), eq(BookingReminderStatus.SKIPPED), any());
+        assertEquals(1, lateCount());
+    }
+
+    private static BookingReminder reminder(Long id, LocalDateTime showTime) {
+        Movie movie = new Movie("Movie", Movie.Language.HINDI, "Drama", 120);
+        Show show = new Show(movie, new Theatre("PVR", "Pune"), showTime, 100);
+        Booking booking = new Booking(show, 1, "Test User");
+        booking.setId(id);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setPhoneNumber("9876543210");
+        BookingReminder reminder = new BookingReminder(booking, showTime.minusMinutes(20));
+        ReflectionTestUtils.setField(reminder, "id", id);
+        return reminder;
+    }
+
+    private double lateCount() {
+        Counter counter = registry.find("bms.reminder.call").tag("outcome", "late").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,92 @@
+package com.bookmyshow.service;
+
+import com.bookmyshow.dto.ShowSearchResponse;
+import com.bookmyshow.dto.ShowSummaryResponse;
+import com.bookmyshow.entity.Movie;
+import com.bookmyshow.entity.Show;
+import com.bookmyshow.entity.Theatre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ShowServiceTest {
+
+    private static final LocalDateTime SHOW_TIME = LocalDateTime.now().plusDays(1);
+
+    private ShowListingCache showListingCache;
+    private NowShowingIndex nowShowingIndex;
+    private ShowService showService;
+
+    @BeforeEach
+    void setUp() {
+        showListingCache = mock(ShowListingCache.class);
+        nowShowingIndex = mock(NowShowingIndex.class);
+        showService = new ShowService();
+        ReflectionTestUtils.setField(showService, "showListingCache", showListingCache);
+        ReflectionTestUtils.setField(showService, "nowShowingIndex", nowShowingIndex);
+    }
+
+    @Test
+    void cachedShowsGetTheIndexedSeatCount() {
+        Show booked = show(1L, 100);
+        Show started = show(2L, 100);
+        List<Show> cached = List.of(booked, started);
+        when(showListingCache.getShowsByCity("Pune")).thenReturn(cached);
+        when(nowShowingIndex.getAvailableSeats(1L)).thenReturn(97);
+        when(nowShowingIndex.getAvailableSeats(2L)).thenReturn(null);
+
+        List<Show> shows = showService.getShowsByCity("Pune");
+
+        assertEquals(97, shows.get(0).getAvailableSeats());
+        assertEquals(1L, shows.get(0).getId());
+        // Not in the index, so left as cached
+        assertSame(started, shows.get(1));
+        // The cached entry itself is unchanged
+        assertEquals(100, booked.getAvailableSeats());
+    }
+
+    @Test
+    void cachedSearchRowsGetTheIndexedSeatCount() {
+        ShowSummaryResponse row = new ShowSummaryResponse(1L, SHOW_TIME, 100, 10L, "Movie",
+                Movie.Language.HINDI, 20L, "PVR", "Pune");
+        when(showListingCache.search(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(row));
+        when(nowShowingIndex.getAvailableSeats(1L)).thenReturn(95);
+
+        ShowSearchResponse response = showService.searchShows(null, null, null, null, null, false, null, null);
+
+        assertEquals(95, response.getShows().get(0).getAvailableSeats());
+        assertEquals(100, row.getAvailableSeats());
+    }
+
+    @Test
+    void indexedSearchIsNotCached() {
+        ShowSummaryResponse row = new ShowSummaryResponse(1L, SHOW_TIME, 95, 10L, "Movie",
+                Movie.Language.HINDI, 20L, "PVR", "Pune");
+        when(nowShowingIndex.covers(any())).thenReturn(true);
+        when(nowShowingIndex.search(any(), isNull(), isNull(), any(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(row));
+
+        ShowSearchResponse response = showService.searchShows(null, null, "Pune", null, null, true, null, null);
+
+        assertSame(row, response.getShows().get(0));
+        verifyNoInteractions(showListingCache);
+    }
+
+    private static Show show(Long id, int availableSeats) {
+        Show show = new Show(new Movie(), new Theatre("PVR", "Pune"), SHOW_TIME, availableSeats);
+        show.setId(id);
+        return show;
+    }
+}
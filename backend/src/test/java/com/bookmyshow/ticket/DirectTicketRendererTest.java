@@ -0,0 +1,28 @@
+package com.bookmyshow.ticket;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectTicketRendererTest {
+
+    @Test
+    void latinTicketIsRenderedDirectly() throws Exception {
+        TicketData ticket = ticket("Amélie");
+
+        assertTrue(DirectTicketRenderer.canRender(ticket));
+        assertTrue(new DirectTicketRenderer().render(ticket).length > 0);
+    }
+
+    @Test
+    void nonLatinTitleNeedsTheHtmlRenderer() {
+        assertFalse(DirectTicketRenderer.canRender(ticket("दंगल")));
+    }
+
+    private static TicketData ticket(String movieName) {
+        return new TicketData(1L, movieName, "FRENCH", "Comedy", 122, "PVR", "Pune",
+                LocalDateTime.of(2030, 1, 1, 18, 0), "A1, A2", "Test User");
+    }
+}
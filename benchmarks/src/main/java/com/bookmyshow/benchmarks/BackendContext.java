@@ -0,0 +1,31 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.BookMyShowApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the backend against a private in-memory H2 database (MySQL mode) seeded from data.sql.
+ */
+final class BackendContext {
+
+    private BackendContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.defer-datasource-initialization=true",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(Arrays.asList(properties));
+        return new SpringApplicationBuilder(BookMyShowApplication.class).run(args.toArray(new String[0]));
+    }
+}
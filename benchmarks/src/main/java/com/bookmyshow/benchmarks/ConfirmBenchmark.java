@@ -0,0 +1,92 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.dto.ConfirmBookingRequest;
+import com.bookmyshow.dto.ConfirmBookingResponse;
+import com.bookmyshow.dto.HoldSeatsRequest;
+import com.bookmyshow.service.BookingService;
+import com.bookmyshow.service.SeatHoldService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hold-then-confirm throughput for two-seat bookings, per {@code seat.hold.mode}.
+ *
+ * Every operation books two fresh seats; a new show is created whenever the
+ * current one is sold out, so no operation ever conflicts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ConfirmBenchmark {
+
+    private static final int SEATS_PER_SHOW = 5000;
+    private static final int SEATS_PER_BOOKING = 2;
+
+    @Param({"inventory", "optimistic"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private SeatHoldService seatHoldService;
+    private BookingService bookingService;
+    private Fixtures fixtures;
+    private long theatreId;
+    private long[] seatIds;
+
+    private final AtomicLong nextBooking = new AtomicLong();
+    private final Map<Long, Long> showIdByIndex = new ConcurrentHashMap<>();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BackendContext.start("--seat.hold.mode=" + mode);
+        seatHoldService = context.getBean(SeatHoldService.class);
+        bookingService = context.getBean(BookingService.class);
+        fixtures = new Fixtures(context);
+        theatreId = fixtures.createTheatre(SEATS_PER_SHOW);
+        seatIds = fixtures.seatIds(theatreId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Buyer {
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        final String userId = "bench-" + NEXT_ID.incrementAndGet();
+    }
+
+    @Benchmark
+    public ConfirmBookingResponse holdAndConfirm(Buyer buyer) {
+        int bookingsPerShow = SEATS_PER_SHOW / SEATS_PER_BOOKING;
+        long booking = nextBooking.getAndIncrement();
+        long showId = showIdByIndex.computeIfAbsent(booking / bookingsPerShow,
+                index -> fixtures.createShow(theatreId, SEATS_PER_SHOW));
+        int first = (int) (booking % bookingsPerShow) * SEATS_PER_BOOKING;
+        List<Long> seats = List.of(seatIds[first], seatIds[first + 1]);
+
+        HoldSeatsRequest hold = new HoldSeatsRequest();
+        hold.setSeatIds(seats);
+        hold.setUserId(buyer.userId);
+        seatHoldService.holdSeats(showId, hold);
+
+        ConfirmBookingRequest confirm = new ConfirmBookingRequest();
+        confirm.setShowId(showId);
+        confirm.setSeatIds(seats);
+        confirm.setUserId(buyer.userId);
+        confirm.setPaymentRef("bench");
+        return bookingService.confirmBooking(confirm);
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates theatres and shows of any size directly through JDBC.
+ */
+final class Fixtures {
+
+    // Seats per row in generated theatres
+    private static final int ROW_WIDTH = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShowSeatBatchRepository showSeatBatchRepository;
+
+    Fixtures(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.showSeatBatchRepository = context.getBean(ShowSeatBatchRepository.class);
+    }
+
+    /**
+     * @return the new theatre's ID
+     */
+    long createTheatre(int seats) {
+        long theatreId = insert("INSERT INTO theatres (name, city) VALUES (?, ?)", "Bench " + seats, "Benchmark");
+
+        List<Object[]> rows = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            String seatType = i < seats / 5 ? "VIP" : i < seats / 2 ? "PREMIUM" : "REGULAR";
+            rows.add(new Object[]{theatreId, "R" + (i / ROW_WIDTH + 1), i % ROW_WIDTH + 1, seatType});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO seats (theatre_id, row_label, seat_number, seat_type, is_active) VALUES (?, ?, ?, ?, TRUE)",
+                rows);
+        return theatreId;
+    }
+
+    /**
+     * Create a show in the theatre with its show seats provisioned.
+     *
+     * @return the new show's ID
+     */
+    long createShow(long theatreId, int seats) {
+        long showId = insert("INSERT INTO shows (movie_id, theatre_id, show_time, available_seats) VALUES (1, ?, ?, ?)",
+                theatreId, Timestamp.valueOf(LocalDateTime.now().plusDays(7)), seats);
+        showSeatBatchRepository.insertShowSeats(showId, theatreId);
+        return showId;
+    }
+
+    /**
+     * @return the theatre's seat IDs in layout order (row label, then seat number)
+     */
+    long[] seatIds(long theatreId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM seats WHERE theatre_id = ? ORDER BY row_label, seat_number", Long.class, theatreId)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
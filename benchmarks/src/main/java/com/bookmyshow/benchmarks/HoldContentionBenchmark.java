@@ -0,0 +1,85 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.dto.HoldSeatsRequest;
+import com.bookmyshow.dto.ReleaseSeatsRequest;
+import com.bookmyshow.exception.SeatHoldConflictException;
+import com.bookmyshow.service.SeatHoldService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hold/release throughput when many buyers compete for a few seats, per {@code seat.hold.mode}.
+ *
+ * Each operation tries to hold one random seat out of {@code hotSeats} and releases it
+ * on success. The "won" and "conflicts" counters show how often a buyer got the seat.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar HoldContentionBenchmark -t 16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class HoldContentionBenchmark {
+
+    private static final Long SHOW_ID = 1L;
+
+    @Param({"inventory", "optimistic"})
+    public String mode;
+
+    @Param({"10"})
+    public int hotSeats;
+
+    private ConfigurableApplicationContext context;
+    private SeatHoldService seatHoldService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BackendContext.start("--seat.hold.mode=" + mode);
+        seatHoldService = context.getBean(SeatHoldService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Buyer {
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        final String userId = "bench-" + NEXT_ID.incrementAndGet();
+        public long won;
+        public long conflicts;
+    }
+
+    @Benchmark
+    public boolean holdAndRelease(Buyer buyer) {
+        List<Long> seatIds = List.of(1L + ThreadLocalRandom.current().nextInt(hotSeats));
+
+        HoldSeatsRequest hold = new HoldSeatsRequest();
+        hold.setSeatIds(seatIds);
+        hold.setUserId(buyer.userId);
+        try {
+            seatHoldService.holdSeats(SHOW_ID, hold);
+        } catch (SeatHoldConflictException e) {
+            buyer.conflicts++;
+            return false;
+        }
+        buyer.won++;
+
+        ReleaseSeatsRequest release = new ReleaseSeatsRequest();
+        release.setSeatIds(seatIds);
+        release.setUserId(buyer.userId);
+        seatHoldService.releaseSeats(SHOW_ID, release);
+        return true;
+    }
+}
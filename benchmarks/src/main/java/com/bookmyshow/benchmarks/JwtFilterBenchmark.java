@@ -0,0 +1,127 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.dto.SignupRequest;
+import com.bookmyshow.security.JwtAuthenticationFilter;
+import com.bookmyshow.service.AuthService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a Bearer token.
+ *
+ * baseline: the previous filter (key rebuilt, token parsed twice, user loaded from the database).
+ * uncached: the current filter with {@code security.jwt.token-cache.max-size=0} (one parse, one lookup).
+ * cached: the current filter with the verified-token cache (no parse, no database).
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "JwtFilterBenchmarkSecretKey0123456789012345678901234567890123";
+
+    @Param({"baseline", "uncached", "cached"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private UserDetailsService userDetailsService;
+    private String token;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BackendContext.start("--jwt.secret=" + SECRET,
+                "--security.jwt.token-cache.max-size=" + ("uncached".equals(mode) ? 0 : 10000));
+        filter = context.getBean(JwtAuthenticationFilter.class);
+        userDetailsService = context.getBean(UserDetailsService.class);
+
+        SignupRequest signup = new SignupRequest();
+        signup.setName("Bench User");
+        signup.setEmail("bench@example.com");
+        signup.setMobileNumber("9000000000");
+        signup.setPassword("bench-password");
+        signup.setConfirmPassword("bench-password");
+        token = context.getBean(AuthService.class).signup(signup).getToken();
+
+        request = request("Bearer " + token);
+        response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> null);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        SecurityContextHolder.clearContext();
+        if ("baseline".equals(mode)) {
+            return previousFilter();
+        }
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // JwtAuthenticationFilter before the cache: extractUsername, loadUserByUsername, validateToken
+    private Authentication previousFilter() {
+        String username = parse(token).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (!username.equals(userDetails.getUsername()) || parse(token).getExpiration().before(new Date())) {
+            return null;
+        }
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    // Only what the filter reads; everything else answers null/false
+    private static HttpServletRequest request(String authorization) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(JwtFilterBenchmark.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> "Authorization".equalsIgnoreCase((String) args[0]) ? authorization : null;
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    case "removeAttribute" -> attributes.remove((String) args[0]);
+                    case "getDispatcherType" -> jakarta.servlet.DispatcherType.REQUEST;
+                    case "getRemoteAddr" -> "127.0.0.1";
+                    case "getRequestURI" -> "/api/bookings/confirm";
+                    case "isAsyncStarted" -> false;
+                    default -> method.getReturnType() == boolean.class ? false : null;
+                });
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.dto.CompactSeatMapResponse;
+import com.bookmyshow.dto.SeatMapResponse;
+import com.bookmyshow.inventory.SeatInventoryService;
+import com.bookmyshow.inventory.SeatMapSnapshot;
+import com.bookmyshow.inventory.ShowSeatInventory;
+import com.bookmyshow.service.SeatMapService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat map construction cost by theatre size.
+ *
+ * rebuild: snapshot of the inventory (what a hold/release/booking costs the next reader).
+ * render: per-user response from the cached snapshot.
+ * renderJson: render plus JSON serialization, as served by GET /api/shows/{id}/seats.
+ * renderCompactJson: the same for the compact (2-bit status) representation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatMapBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int seats;
+
+    private ConfigurableApplicationContext context;
+    private SeatMapService seatMapService;
+    private ObjectMapper objectMapper;
+    private ShowSeatInventory inventory;
+    private SeatMapResponse.TheatreInfo theatre;
+    private long showId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BackendContext.start();
+        Fixtures fixtures = new Fixtures(context);
+        long theatreId = fixtures.createTheatre(seats);
+        showId = fixtures.createShow(theatreId, seats);
+
+        seatMapService = context.getBean(SeatMapService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        SeatMapSnapshot snapshot = seatMapService.getSnapshot(showId).orElseThrow();
+        theatre = snapshot.getTheatre();
+        inventory = context.getBean(SeatInventoryService.class).findLoaded(showId).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public SeatMapSnapshot rebuild() {
+        return new SeatMapSnapshot(inventory, theatre);
+    }
+
+    @Benchmark
+    public SeatMapResponse render() {
+        return seatMapService.getSeatMap(showId, "bench-user").orElseThrow();
+    }
+
+    @Benchmark
+    public String renderJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(seatMapService.getSeatMap(showId, "bench-user").orElseThrow());
+    }
+
+    @Benchmark
+    public String renderCompactJson() throws JsonProcessingException {
+        CompactSeatMapResponse response = seatMapService.getSnapshot(showId).orElseThrow()
+                .toCompactResponse("bench-user", LocalDateTime.now());
+        return objectMapper.writeValueAsString(response);
+    }
+}
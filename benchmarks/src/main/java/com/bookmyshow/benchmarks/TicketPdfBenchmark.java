@@ -0,0 +1,62 @@
+package com.bookmyshow.benchmarks;
+
+import com.bookmyshow.ticket.DirectTicketRenderer;
+import com.bookmyshow.ticket.HtmlTicketRenderer;
+import com.bookmyshow.ticket.TicketData;
+import com.bookmyshow.ticket.TicketRenderer;
+import com.bookmyshow.ticket.TicketTemplate;
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticket PDFs per second on a single thread, by renderer.
+ *
+ * baseline: the template converted with fresh ConverterProperties per ticket (the previous behaviour).
+ * html: {@link HtmlTicketRenderer}, reusing converter properties and font provider.
+ * direct: {@link DirectTicketRenderer}, laid out with iText without HTML.
+ *
+ * Run: java -jar benchmarks/target/benchmarks.jar TicketPdfBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(1)
+public class TicketPdfBenchmark {
+
+    @Param({"baseline", "html", "direct"})
+    public String renderer;
+
+    private TicketRenderer ticketRenderer;
+    private TicketData ticket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ticket = new TicketData(42L, "Interstellar", "ENGLISH", "Sci-Fi", 169,
+                "PVR Phoenix", "Mumbai", LocalDateTime.of(2026, 1, 15, 19, 30), "A1, A2, A3, A4", "bench-user");
+        TicketTemplate template = TicketTemplate.load(HtmlTicketRenderer.TEMPLATE);
+        ticketRenderer = switch (renderer) {
+            case "baseline" -> data -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                HtmlConverter.convertToPdf(template.render(data::value), out, new ConverterProperties());
+                return out.toByteArray();
+            };
+            case "html" -> new HtmlTicketRenderer(template);
+            case "direct" -> new DirectTicketRenderer();
+            default -> throw new IllegalArgumentException("Unknown renderer: " + renderer);
+        };
+    }
+
+    @Benchmark
+    public byte[] render() throws IOException {
+        return ticketRenderer.render(ticket);
+    }
+}
@@ -28,17 +28,43 @@ function Booking() {
         setSelectedSeatIds([]);
         setHoldExpiresAt(null);
         setError(null);
-        fetchSeatMap();
-    }, [showId, user?.id]);
-
-    useEffect(() => {
-        // Only set up polling if we have a valid showId
         if (!showId) return;
 
-        const interval = setInterval(() => {
-            fetchSeatMap();
-        }, 5000);
-        return () => clearInterval(interval);
+        // Server pushes one snapshot, then seat status deltas as seats are held, released or booked
+        const query = user?.id ? `?userId=${encodeURIComponent(user.id.toString())}` : "";
+        const source = new EventSource(`http://localhost:8090/api/shows/${showId}/seats/stream${query}`);
+        let snapshotVersion = null;
+        let pendingDeltas = [];
+
+        source.addEventListener('snapshot', (event) => {
+            const snapshot = JSON.parse(event.data);
+            if (snapshot.showId && snapshot.showId.toString() !== showId.toString()) {
+                console.error('Seat map snapshot is for wrong show:', snapshot.showId, 'expected:', showId);
+                return;
+            }
+            snapshotVersion = snapshot.version;
+            applySeatMap(snapshot);
+            // Deltas that raced the snapshot are applied only if the snapshot does not already include them
+            pendingDeltas.filter(delta => delta.version > snapshotVersion).forEach(applySeatDelta);
+            pendingDeltas = [];
+        });
+
+        source.addEventListener('seats', (event) => {
+            const delta = JSON.parse(event.data);
+            if (snapshotVersion === null) {
+                pendingDeltas.push(delta);
+            } else if (delta.version > snapshotVersion) {
+                applySeatDelta(delta);
+            }
+        });
+
+        source.onerror = () => {
+            // EventSource reconnects by itself and receives a fresh snapshot
+            snapshotVersion = null;
+            pendingDeltas = [];
+        };
+
+        return () => source.close();
     }, [showId, user?.id]);
 
     useEffect(() => {
@@ -93,24 +119,49 @@ function Booking() {
                 return;
             }
 
-            setSeatMap(response.data);
-
-            const heldSeats = response.data.seats.filter(seat => seat.status === 'HELD' && seat.heldByCurrentUser);
-            if (heldSeats.length > 0) {
-                const expiresAt = heldSeats[0].holdExpiresAt;
-                setHoldExpiresAt(expiresAt);
-                setSelectedSeatIds(heldSeats.map(seat => seat.seatId));
-            } else {
-                // Clear hold state if no held seats found
-                setHoldExpiresAt(null);
-                setSelectedSeatIds([]);
-            }
+            applySeatMap(response.data);
         } catch (err) {
             console.error('Failed to load seat map:', err);
             setError('Failed to load seat map. Please refresh the page.');
         }
     };
 
+    const applySeatMap = (map) => {
+        setSeatMap(map);
+
+        const heldSeats = map.seats.filter(seat => seat.status === 'HELD' && seat.heldByCurrentUser);
+        if (heldSeats.length > 0) {
+            const expiresAt = heldSeats[0].holdExpiresAt;
+            setHoldExpiresAt(expiresAt);
+            setSelectedSeatIds(heldSeats.map(seat => seat.seatId));
+        } else {
+            // Clear hold state if no held seats found
+            setHoldExpiresAt(null);
+            setSelectedSeatIds([]);
+        }
+    };
+
+    const applySeatDelta = (delta) => {
+        const changed = new Set(delta.seatIds);
+        setSeatMap(current => {
+            if (!current) return current;
+            return {
+                ...current,
+                seats: current.seats.map(seat => {
+                    if (!changed.has(seat.seatId)) return seat;
+                    const held = delta.status === 'HELD';
+                    return {
+                        ...seat,
+                        status: delta.status,
+                        // Our own holds are marked by the hold response; deltas carry no holder
+                        heldByCurrentUser: held && seat.heldByCurrentUser,
+                        holdExpiresAt: held ? delta.holdExpiresAt : null,
+                    };
+                }),
+            };
+        });
+    };
+
     const groupedSeats = useMemo(() => {
         if (!seatMap?.seats) return [];
         const byRow = {};
@@ -150,6 +201,19 @@ function Booking() {
         return 'available';
     };
 
+    const markHeldByCurrentUser = (heldSeats) => {
+        const held = new Map(heldSeats.map(seat => [seat.seatId, seat]));
+        setSeatMap(current => {
+            if (!current) return current;
+            return {
+                ...current,
+                seats: current.seats.map(seat => held.has(seat.seatId)
+                    ? { ...seat, status: 'HELD', heldByCurrentUser: true, holdExpiresAt: held.get(seat.seatId).holdExpiresAt }
+                    : seat),
+            };
+        });
+    };
+
     const handleHoldSeats = async () => {
         if (!user || !userName.trim()) {
             setError('Please login to hold seats.');
@@ -169,7 +233,7 @@ function Booking() {
             });
             setHoldExpiresAt(response.data.holdExpiresAt);
             setSelectedSeatIds(response.data.seats.map(seat => seat.seatId));
-            fetchSeatMap();
+            markHeldByCurrentUser(response.data.seats);
         } catch (err) {
             setError(err.response?.data?.message || err.response?.data || 'Failed to hold seats. Please try again.');
         } finally {
@@ -186,7 +250,6 @@ function Booking() {
             });
             setHoldExpiresAt(null);
             setSelectedSeatIds([]);
-            fetchSeatMap();
         } catch (err) {
             setError(err.response?.data || 'Failed to release seats. Please try again.');
         } finally {
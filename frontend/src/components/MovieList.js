@@ -14,15 +14,14 @@ function MovieList() {
 
   useEffect(() => {
     fetchMovies();
-  }, [language]);
+  }, [language, city]);
 
   const fetchMovies = async () => {
     try {
       setLoading(true);
-      const url = language
-        ? `http://localhost:8090/api/movies?language=${language}`
-        : 'http://localhost:8090/api/movies';
-      const response = await axios.get(url);
+      const response = await axios.get('http://localhost:8090/api/movies', {
+        params: { language: language || undefined, city: city || undefined },
+      });
       setMovies(response.data);
       setError(null);
     } catch (err) {
@@ -9,6 +9,8 @@ function ShowTimings() {
   const navigate = useNavigate();
   const { isAuthenticated } = useAuth();
   const [shows, setShows] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [movie, setMovie] = useState(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
@@ -31,13 +33,18 @@ function ShowTimings() {
     }
   };
 
+  // Upcoming shows only; the server applies its own clock
+  const searchShows = (cursor) =>
+    axios.get('http://localhost:8090/api/shows/search', {
+      params: { movieId, city, upcoming: true, cursor },
+    });
+
   const fetchShows = async () => {
     try {
       setLoading(true);
-      const response = await axios.get(
-        `http://localhost:8090/api/shows?movieId=${movieId}&city=${city}`
-      );
-      setShows(response.data);
+      const response = await searchShows();
+      setShows(response.data.shows);
+      setNextCursor(response.data.nextCursor);
       setError(null);
     } catch (err) {
       setError('Failed to load show timings. Please try again.');
@@ -47,6 +54,20 @@ function ShowTimings() {
     }
   };
 
+  const fetchMoreShows = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await searchShows(nextCursor);
+      setShows((loaded) => [...loaded, ...response.data.shows]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      setError('Failed to load more show timings. Please try again.');
+      console.error(err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const formatDateTime = (dateTimeString) => {
     const date = new Date(dateTimeString);
     return date.toLocaleString('en-IN', {
@@ -161,7 +182,7 @@ function ShowTimings() {
                   <div className="d-flex justify-content-between align-items-start mb-3">
                     <div>
                       <h5 style={{ color: '#1A1A1A', fontWeight: '600', marginBottom: '8px' }}>
-                        {show.theatre.name}
+                        {show.theatreName}
                       </h5>
                       <p className="text-muted mb-0" style={{ fontSize: '13px' }}>
                         <i className="bi bi-geo-alt me-1"></i>
@@ -225,6 +246,14 @@ function ShowTimings() {
             ))}
           </div>
         )}
+
+        {nextCursor && (
+          <div className="text-center mt-4">
+            <button className="btn btn-outline-secondary" onClick={fetchMoreShows} disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : 'Load more shows'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -83,6 +83,10 @@ export const AuthProvider = ({ children }) => {
     };
 
     const logout = () => {
+        // Revoke the token server-side; local state is cleared regardless
+        if (token) {
+            axios.post('http://localhost:8090/api/auth/logout').catch(() => {});
+        }
         // Clear all auth state
         setToken(null);
         setUser(null);
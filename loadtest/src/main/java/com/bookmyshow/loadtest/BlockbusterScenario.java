@@ -0,0 +1,250 @@
+package com.bookmyshow.loadtest;
+
+import com.bookmyshow.dto.CompactSeatMapResponse;
+import com.bookmyshow.dto.SeatLayoutResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A blockbuster seat release: a fixed crowd of users opens one show's seat map at once and
+ * each tries to book 2 to 6 adjacent seats, following Booking.js and Payment.js: load the
+ * show, poll the seat map, hold, optionally release and pick again, pay, confirm.
+ *
+ * Users aim for the same central rows from a seat map that is stale by their think time,
+ * so holds conflict the way they do when a popular show goes on sale. A user whose hold is
+ * rejected polls the seat map again and picks other seats. Each user's journey is recorded
+ * end to end as {@code journey}, with how it ended as the outcome. A run ends when every
+ * user is done or its duration is over; every run (and the warmup) gets a new show.
+ */
+final class BlockbusterScenario implements LoadScenario {
+
+    private static final int MIN_PARTY = 2;
+    private static final int MAX_PARTY = 6;
+    // Seat picks per user before giving up
+    private static final int MAX_ATTEMPTS = 4;
+    // Share of users who release a successful hold and pick again, and who abandon it
+    private static final double RELEASE_RATE = 0.10;
+    private static final double ABANDON_RATE = 0.05;
+    private static final int HOLD_MINUTES = 10;
+
+    private final int users;
+    private final int seats;
+    private final long thinkMillis;
+    private final long paymentMillis;
+
+    private LoadTarget target;
+    private long theatreId;
+    private String[] tokens;
+
+    // Replaced by beforeRun
+    private volatile long showId;
+    private volatile Layout layout;
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    /**
+     * @param thinkMillis mean time a user looks at the seat map before holding
+     * @param paymentMillis time between a hold and its confirmation (Payment.js waits 2 seconds)
+     */
+    BlockbusterScenario(int users, int seats, long thinkMillis, long paymentMillis) {
+        this.users = users;
+        this.seats = seats;
+        this.thinkMillis = thinkMillis;
+        this.paymentMillis = paymentMillis;
+    }
+
+    @Override
+    public void setUp(LoadTarget target, int maxClients) {
+        this.target = target;
+        theatreId = target.createTheatre(seats);
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = target.createUserToken(i);
+        }
+    }
+
+    @Override
+    public void beforeRun() {
+        showId = target.createShow(theatreId, seats);
+        LoadTarget.Response response = target.get("/api/shows/" + showId + "/seats/layout", null);
+        if (response.status() != 200) {
+            throw new IllegalStateException("Seat layout of show " + showId + " failed with status " + response.status());
+        }
+        layout = new Layout(target.readJson(response.body(), SeatLayoutResponse.class));
+        nextUser.set(0);
+    }
+
+    @Override
+    public boolean iterate(int client, LatencyRecorder.Recorder recorder) {
+        int user = nextUser.getAndIncrement();
+        if (user >= users) {
+            return false;
+        }
+        long start = System.nanoTime();
+        String outcome = journey(user, recorder);
+        recorder.record("journey", System.nanoTime() - start, outcome);
+        return true;
+    }
+
+    /**
+     * @return how the journey ended: booked, no-seats, gave-up, abandoned, confirm-failed or error
+     */
+    private String journey(int user, LatencyRecorder.Recorder recorder) {
+        Random random = ThreadLocalRandom.current();
+        String userId = "fan-" + user;
+        String showPath = "/api/shows/" + showId;
+        int party = MIN_PARTY + random.nextInt(MAX_PARTY - MIN_PARTY + 1);
+
+        LoadScenario.timed(recorder, "show", target, showPath, null, null);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            LoadTarget.Response seatMap = LoadScenario.timedGet(recorder, "seat-map", target,
+                    showPath + "/seats?userId=" + userId, CompactSeatMapResponse.MEDIA_TYPE);
+            if (seatMap.status() != 200) {
+                return "error";
+            }
+            String statuses = target.readJson(seatMap.body(), CompactSeatMapResponse.class).getStatuses();
+            long[] picked = layout.pick(Base64.getDecoder().decode(statuses), party, random);
+            if (picked == null) {
+                return "no-seats";
+            }
+            pause(thinkMillis / 2 + (long) (random.nextDouble() * thinkMillis));
+
+            String seatIds = Arrays.stream(picked).mapToObj(Long::toString).collect(Collectors.joining(","));
+            int held = LoadScenario.timed(recorder, "hold", target, showPath + "/seats/hold",
+                    "{\"seatIds\":[" + seatIds + "],\"holdMinutes\":" + HOLD_MINUTES + ",\"userId\":\"" + userId + "\"}",
+                    null);
+            if (held == 409) {
+                continue;
+            }
+            if (held != 200) {
+                return "error";
+            }
+            if (random.nextDouble() < ABANDON_RATE) {
+                // The seats stay held until the hold expires
+                return "abandoned";
+            }
+            if (random.nextDouble() < RELEASE_RATE) {
+                LoadScenario.timed(recorder, "release", target, showPath + "/seats/release",
+                        "{\"seatIds\":[" + seatIds + "],\"userId\":\"" + userId + "\"}", null);
+                continue;
+            }
+
+            pause(paymentMillis);
+            int confirmed = LoadScenario.timed(recorder, "confirm", target, "/api/bookings/confirm",
+                    "{\"showId\":" + showId + ",\"seatIds\":[" + seatIds + "],\"userId\":\"" + userId
+                            + "\",\"paymentRef\":\"PAY-" + System.currentTimeMillis() + "\",\"paymentMethod\":\"card\""
+                            + ",\"email\":\"load" + user + "@example.com\",\"phoneNumber\":\"" + String.format("7%09d", user) + "\"}",
+                    tokens[user]);
+            return confirmed == 200 ? "booked" : "confirm-failed";
+        }
+        return "gave-up";
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The show's seats grouped into rows, in layout order, for picking adjacent seats.
+     */
+    private static final class Layout {
+
+        private final long[] seatIds;
+        private final int[] seatNumbers;
+        // Positions of each row's seats, by seat number
+        private final int[][] rows;
+
+        Layout(SeatLayoutResponse response) {
+            seatIds = response.getSeatIds();
+            seatNumbers = response.getSeatNumbers();
+            List<List<Integer>> positionsByRow = new ArrayList<>();
+            for (int i = 0; i < response.getRows().size(); i++) {
+                positionsByRow.add(new ArrayList<>());
+            }
+            for (int position = 0; position < seatIds.length; position++) {
+                positionsByRow.get(response.getRowIndexes()[position]).add(position);
+            }
+            rows = positionsByRow.stream()
+                    .map(positions -> positions.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+        }
+
+        /**
+         * Pick {@code party} adjacent available seats. Users aim at a row about 60% of the way
+         * back and at the middle of the row, with some spread, and move outwards from there
+         * until a block fits, so most of them compete for the same few hundred seats.
+         *
+         * @param statuses the compact seat map's packed statuses
+         * @return the seat IDs, or {@code null} if no row has enough adjacent available seats
+         */
+        long[] pick(byte[] statuses, int party, Random random) {
+            int preferredRow = clamp((int) Math.round(rows.length * 0.6 + random.nextGaussian() * rows.length / 8.0),
+                    0, rows.length - 1);
+            // preferred, then one row behind, one in front, two behind, ...
+            for (int step = 0; step < 2 * rows.length; step++) {
+                int row = preferredRow + (step % 2 == 0 ? step / 2 : -(step + 1) / 2);
+                if (row < 0 || row >= rows.length) {
+                    continue;
+                }
+                int first = pickInRow(rows[row], statuses, party, random);
+                if (first >= 0) {
+                    long[] picked = new long[party];
+                    for (int i = 0; i < party; i++) {
+                        picked[i] = seatIds[rows[row][first + i]];
+                    }
+                    return picked;
+                }
+            }
+            return null;
+        }
+
+        // Index into the row of the first seat of the block closest to the aimed-at seat, or -1
+        private int pickInRow(int[] row, byte[] statuses, int party, Random random) {
+            int starts = row.length - party + 1;
+            if (starts <= 0) {
+                return -1;
+            }
+            int aimed = clamp((int) Math.round((starts - 1) / 2.0 + random.nextGaussian() * row.length / 8.0),
+                    0, starts - 1);
+            for (int step = 0; step < 2 * starts; step++) {
+                int start = aimed + (step % 2 == 0 ? step / 2 : -(step + 1) / 2);
+                if (start >= 0 && start < starts && fits(row, start, party, statuses)) {
+                    return start;
+                }
+            }
+            return -1;
+        }
+
+        private boolean fits(int[] row, int start, int party, byte[] statuses) {
+            for (int i = start; i < start + party; i++) {
+                int position = row[i];
+                int status = (statuses[position >> 2] >> ((position & 3) << 1)) & 3;
+                if (status != CompactSeatMapResponse.AVAILABLE) {
+                    return false;
+                }
+                // An aisle or a missing seat splits the row
+                if (i > start && seatNumbers[position] != seatNumbers[row[i - 1]] + 1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int clamp(int value, int min, int max) {
+            return Math.max(min, Math.min(max, value));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookmyshow.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent-request capacity: every client repeatedly loads a seat map, holds two fresh
+ * seats and confirms them. Confirmation waits on row locks and a pooled connection, so
+ * this shows how many in-flight requests the server sustains and what latency they see.
+ *
+ * Seats are handed out in pairs and a new show is created whenever the current one is
+ * sold out, so clients never compete for seats.
+ */
+final class CapacityScenario implements LoadScenario {
+
+    private static final int SEATS_PER_SHOW = 500;
+    private static final int SEATS_PER_BOOKING = 2;
+
+    private LoadTarget target;
+    private long theatreId;
+    private long[] seatIds;
+    private String[] tokens;
+
+    private final AtomicLong nextBooking = new AtomicLong();
+    private final Map<Long, Long> showIdByIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public void setUp(LoadTarget target, int maxClients) {
+        this.target = target;
+        theatreId = target.createTheatre(SEATS_PER_SHOW);
+        seatIds = target.seatIds(theatreId);
+        tokens = new String[maxClients];
+        for (int i = 0; i < maxClients; i++) {
+            tokens[i] = target.createUserToken(i);
+        }
+    }
+
+    @Override
+    public boolean iterate(int client, LatencyRecorder.Recorder recorder) {
+        int bookingsPerShow = SEATS_PER_SHOW / SEATS_PER_BOOKING;
+        long booking = nextBooking.getAndIncrement();
+        long showId = showIdByIndex.computeIfAbsent(booking / bookingsPerShow,
+                index -> target.createShow(theatreId, SEATS_PER_SHOW));
+        int first = (int) (booking % bookingsPerShow) * SEATS_PER_BOOKING;
+        String seats = seatIds[first] + "," + seatIds[first + 1];
+        String userId = "load-" + client;
+
+        LoadScenario.timed(recorder, "seat-map", target, "/api/shows/" + showId + "/seats?userId=" + userId, null, null);
+        int held = LoadScenario.timed(recorder, "hold", target, "/api/shows/" + showId + "/seats/hold",
+                "{\"seatIds\":[" + seats + "],\"userId\":\"" + userId + "\"}", null);
+        if (held != 200) {
+            return true;
+        }
+        LoadScenario.timed(recorder, "confirm", target, "/api/bookings/confirm",
+                "{\"showId\":" + showId + ",\"seatIds\":[" + seats + "],\"userId\":\"" + userId
+                        + "\",\"email\":\"load@example.com\",\"paymentRef\":\"load\"}",
+                tokens[client]);
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookmyshow.loadtest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Latencies and outcomes per operation. Each client thread records into its own
+ * {@link Recorder}; the recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private final ConcurrentLinkedQueue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+
+    Recorder newRecorder() {
+        Recorder recorder = new Recorder();
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * @return per-operation statistics, in the order operations were first seen
+     */
+    Map<String, OperationStats> summarize(double elapsedSeconds) {
+        Map<String, long[]> latencies = new LinkedHashMap<>();
+        Map<String, Map<String, Integer>> outcomes = new LinkedHashMap<>();
+        for (Recorder recorder : recorders) {
+            recorder.latencies.forEach((operation, values) ->
+                    latencies.merge(operation, values.toArray(), LatencyRecorder::concat));
+            recorder.outcomes.forEach((operation, counts) -> {
+                Map<String, Integer> merged = outcomes.computeIfAbsent(operation, op -> new LinkedHashMap<>());
+                counts.forEach((outcome, count) -> merged.merge(outcome, count, Integer::sum));
+            });
+        }
+
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        latencies.forEach((operation, values) -> {
+            Arrays.sort(values);
+            Map<String, Integer> counts = outcomes.get(operation);
+            double conflictRate = values.length > 0 ? counts.getOrDefault("conflict", 0) / (double) values.length : 0;
+            stats.put(operation, new OperationStats(values.length, values.length / elapsedSeconds,
+                    percentileMillis(values, 0.50), percentileMillis(values, 0.99),
+                    values.length > 0 ? values[values.length - 1] / 1e6 : 0, conflictRate, counts));
+        });
+        return stats;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Single-threaded recorder owned by one client thread.
+     */
+    static final class Recorder {
+
+        private final Map<String, LongList> latencies = new HashMap<>();
+        private final Map<String, Map<String, Integer>> outcomes = new HashMap<>();
+
+        void record(String operation, long latencyNanos, String outcome) {
+            latencies.computeIfAbsent(operation, op -> new LongList()).add(latencyNanos);
+            outcomes.computeIfAbsent(operation, op -> new HashMap<>()).merge(outcome, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Statistics for one operation; latencies in milliseconds.
+     *
+     * @param conflictRate share of requests answered 409 Conflict, 0 to 1
+     */
+    record OperationStats(int count, double perSecond, double p50Ms, double p99Ms, double maxMs,
+                          double conflictRate, Map<String, Integer> outcomes) {
+
+        int countOf(String outcome) {
+            return outcomes.getOrDefault(outcome, 0);
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bookmyshow.loadtest;
+
+/**
+ * A load pattern run by many concurrent clients, each calling {@link #iterate} in a loop
+ * until the run's duration is over or the scenario has no work left.
+ */
+interface LoadScenario {
+
+    /**
+     * Create the fixtures; called once before the first run.
+     *
+     * @param maxClients the largest number of concurrent clients that will run
+     */
+    void setUp(LoadTarget target, int maxClients);
+
+    /**
+     * Called before every run, including the warmup.
+     */
+    default void beforeRun() {
+    }
+
+    /**
+     * One iteration by one client, recording every request it sends.
+     *
+     * @param client the client's index, from 0
+     * @return false once the scenario has no more work for this run
+     */
+    boolean iterate(int client, LatencyRecorder.Recorder recorder);
+
+    /**
+     * Time a request and record it under {@code operation} with its outcome.
+     *
+     * @return the status code (see {@link LoadTarget#send})
+     */
+    static int timed(LatencyRecorder.Recorder recorder, String operation, LoadTarget target,
+                     String path, String json, String token) {
+        long start = System.nanoTime();
+        int status = target.send(path, json, token);
+        recorder.record(operation, System.nanoTime() - start, outcome(status));
+        return status;
+    }
+
+    /**
+     * Time a GET that reads the response body and record it like {@link #timed}.
+     */
+    static LoadTarget.Response timedGet(LatencyRecorder.Recorder recorder, String operation, LoadTarget target,
+                                        String path, String accept) {
+        long start = System.nanoTime();
+        LoadTarget.Response response = target.get(path, accept);
+        recorder.record(operation, System.nanoTime() - start, outcome(response.status()));
+        return response;
+    }
+
+    static String outcome(int status) {
+        if (status >= 200 && status < 300) {
+            return "ok";
+        }
+        return switch (status) {
+            case -1 -> "timeout";
+            case 0 -> "io-error";
+            case 409 -> "conflict";
+            default -> "http-" + status;
+        };
+    }
+}
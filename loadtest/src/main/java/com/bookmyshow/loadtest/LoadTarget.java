@@ -0,0 +1,196 @@
+package com.bookmyshow.loadtest;
+
+import com.bookmyshow.BookMyShowApplication;
+import com.bookmyshow.entity.User;
+import com.bookmyshow.repository.ShowSeatBatchRepository;
+import com.bookmyshow.repository.UserRepository;
+import com.bookmyshow.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The backend under test, started in this JVM against a private in-memory H2 database
+ * (MySQL mode), plus fixtures created directly through JDBC and a shared HTTP client.
+ * Passing {@code --spring.datasource.*} properties points the backend and the fixtures
+ * at another database, such as a local MySQL, instead.
+ */
+final class LoadTarget implements AutoCloseable {
+
+    // Seats per row in generated theatres
+    private static final int ROW_WIDTH = 50;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+    private final String baseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    LoadTarget(List<String> properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.defer-datasource-initialization=true",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(properties);
+        context = new SpringApplicationBuilder(BookMyShowApplication.class).run(args.toArray(new String[0]));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+    }
+
+    /**
+     * @return the new theatre's ID
+     */
+    long createTheatre(int seats) {
+        long theatreId = insert("INSERT INTO theatres (name, city) VALUES (?, ?)", "Load " + seats, "Loadtest");
+
+        List<Object[]> rows = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            String seatType = i < seats / 5 ? "VIP" : i < seats / 2 ? "PREMIUM" : "REGULAR";
+            rows.add(new Object[]{theatreId, "R" + (i / ROW_WIDTH + 1), i % ROW_WIDTH + 1, seatType});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO seats (theatre_id, row_label, seat_number, seat_type, is_active) VALUES (?, ?, ?, ?, TRUE)",
+                rows);
+        return theatreId;
+    }
+
+    /**
+     * Create a show in the theatre with its show seats provisioned.
+     *
+     * @return the new show's ID
+     */
+    long createShow(long theatreId, int seats) {
+        long showId = insert("INSERT INTO shows (movie_id, theatre_id, show_time, available_seats) VALUES (1, ?, ?, ?)",
+                theatreId, Timestamp.valueOf(LocalDateTime.now().plusDays(7)), seats);
+        context.getBean(ShowSeatBatchRepository.class).insertShowSeats(showId, theatreId);
+        return showId;
+    }
+
+    /**
+     * @return the theatre's seat IDs in layout order (row label, then seat number)
+     */
+    long[] seatIds(long theatreId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM seats WHERE theatre_id = ? ORDER BY row_label, seat_number", Long.class, theatreId)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Create a user and sign a token for it directly, so setup does not queue on password hashing.
+     *
+     * @return the user's Bearer token
+     */
+    String createUserToken(int index) {
+        User user = new User();
+        user.setName("Load User " + index);
+        user.setEmail("load" + index + "@example.com");
+        user.setMobileNumber(String.format("7%09d", index));
+        user.setPassword("not-a-password-hash");
+        user = context.getBean(UserRepository.class).save(user);
+        return context.getBean(JwtUtil.class).generateToken(user);
+    }
+
+    /**
+     * Send a request and wait for the response.
+     *
+     * @param json request body, or {@code null} for a GET
+     * @return the status code, or -1 on timeout and 0 on a connection failure
+     */
+    int send(String path, String json, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (json != null) {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+        return exchange(request.build(), HttpResponse.BodyHandlers.discarding()).status();
+    }
+
+    /**
+     * GET a resource and read its body.
+     *
+     * @param accept the Accept header, or {@code null} for the default representation
+     * @return the status code (as for {@link #send}) and the body, which is {@code null} on failure
+     */
+    Response get(String path, String accept) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        return exchange(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Read a response body with the backend's own JSON mapper.
+     */
+    <T> T readJson(String json, Class<T> type) {
+        try {
+            return context.getBean(ObjectMapper.class).readValue(json, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Response exchange(HttpRequest request, HttpResponse.BodyHandler<?> bodyHandler) {
+        try {
+            HttpResponse<?> response = httpClient.send(request, bodyHandler);
+            Object body = response.body();
+            return new Response(response.statusCode(), body instanceof String text ? text : null);
+        } catch (HttpTimeoutException e) {
+            return new Response(-1, null);
+        } catch (IOException e) {
+            return new Response(0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    /**
+     * @param status the status code, or -1 on timeout and 0 on a connection failure
+     */
+    record Response(int status, String body) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.bookmyshow.loadtest;
+
+import com.bookmyshow.config.VirtualThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a load scenario against an in-process backend at increasing client counts.
+ *
+ * Options (everything else is passed to the backend as a Spring property, e.g.
+ * {@code --spring.threads.virtual.enabled=true}):
+ * <ul>
+ *   <li>{@code --scenario=capacity} - the scenario to run: {@code capacity} or {@code blockbuster}</li>
+ *   <li>{@code --clients=50,200,800} - concurrent clients per run</li>
+ *   <li>{@code --duration=20} - seconds per run</li>
+ *   <li>{@code --warmup=5} - seconds of unrecorded load before the first run</li>
+ *   <li>{@code --out=loadtest-result.json} - where results are written as JSON</li>
+ *   <li>{@code --users=20000}, {@code --seats=2000}, {@code --think-ms=1500}, {@code --payment-ms=2000} -
+ *       crowd size, show size and user pauses for the blockbuster scenario</li>
+ * </ul>
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "scenario", "capacity",
+                "clients", "50,200,800",
+                "duration", "20",
+                "warmup", "5",
+                "out", "loadtest-result.json",
+                "users", "20000",
+                "seats", "2000",
+                "think-ms", "1500",
+                "payment-ms", "2000"
+        ));
+        List<String> backendProperties = new ArrayList<>();
+        for (String arg : args) {
+            String name = arg.startsWith("--") && arg.contains("=") ? arg.substring(2, arg.indexOf('=')) : null;
+            if (name != null && options.containsKey(name)) {
+                options.put(name, arg.substring(arg.indexOf('=') + 1));
+            } else {
+                backendProperties.add(arg);
+            }
+        }
+
+        int[] clientCounts = Arrays.stream(options.get("clients").split(",")).map(String::trim)
+                .mapToInt(Integer::parseInt).toArray();
+        int maxClients = Arrays.stream(clientCounts).max().orElseThrow();
+        int durationSeconds = Integer.parseInt(options.get("duration"));
+        LoadScenario scenario = scenario(options);
+
+        List<RunResult> results = new ArrayList<>();
+        try (LoadTarget target = new LoadTarget(backendProperties)) {
+            scenario.setUp(target, maxClients);
+            int warmupSeconds = Integer.parseInt(options.get("warmup"));
+            if (warmupSeconds > 0) {
+                scenario.beforeRun();
+                run(scenario, clientCounts[0], warmupSeconds);
+            }
+
+            for (int clients : clientCounts) {
+                scenario.beforeRun();
+                results.add(new RunResult(options.get("scenario"), clients, durationSeconds, backendProperties,
+                        run(scenario, clients, durationSeconds)));
+            }
+        }
+
+        // Printed once the backend has stopped, so its console output does not interleave
+        System.out.printf("%nScenario %s, %ds per run, backend properties %s, virtual threads supported: %s%n",
+                options.get("scenario"), durationSeconds, backendProperties, VirtualThreads.isSupported());
+        System.out.printf("%8s  %-10s %8s %9s %9s %9s %9s %10s  %s%n",
+                "clients", "operation", "count", "ops/s", "p50 ms", "p99 ms", "max ms", "conflict %", "outcomes");
+        for (RunResult result : results) {
+            result.operations().forEach((operation, s) -> System.out.printf("%8d  %-10s %8d %9.1f %9.2f %9.2f %9.2f %10.1f  %s%n",
+                    result.clients(), operation, s.count(), s.perSecond(), s.p50Ms(), s.p99Ms(), s.maxMs(),
+                    s.conflictRate() * 100, s.outcomes()));
+        }
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.get("out")), results);
+        System.out.println("Results written to " + options.get("out"));
+        System.exit(0);
+    }
+
+    private static LoadScenario scenario(Map<String, String> options) {
+        String name = options.get("scenario");
+        if (name.equals("capacity")) {
+            return new CapacityScenario();
+        }
+        if (name.equals("blockbuster")) {
+            return new BlockbusterScenario(Integer.parseInt(options.get("users")), Integer.parseInt(options.get("seats")),
+                    Long.parseLong(options.get("think-ms")), Long.parseLong(options.get("payment-ms")));
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+
+    private static Map<String, LatencyRecorder.OperationStats> run(LoadScenario scenario, int clients, int seconds)
+            throws InterruptedException {
+        LatencyRecorder latencies = new LatencyRecorder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long started = System.nanoTime();
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            LatencyRecorder.Recorder recorder = latencies.newRecorder();
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() - deadline < 0) {
+                    if (!scenario.iterate(client, recorder)) {
+                        break;
+                    }
+                }
+            }, "load-client-" + client);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return latencies.summarize((System.nanoTime() - started) / 1e9);
+    }
+
+    record RunResult(String scenario, int clients, int durationSeconds, List<String> backendProperties,
+                     Map<String, LatencyRecorder.OperationStats> operations) {
+    }
+}